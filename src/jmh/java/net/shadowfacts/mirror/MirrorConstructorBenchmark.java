@@ -0,0 +1,57 @@
+package net.shadowfacts.mirror;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating an instance through {@link MirrorConstructor#invoke(Object...)} with plain reflection and {@code new}
+ *
+ * @author shadowfacts
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MirrorConstructorBenchmark {
+
+	private Constructor<Target> constructor;
+	private MirrorConstructor<Target> mirror;
+	private Object[] args;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		constructor = Target.class.getConstructor(String.class, int.class);
+		mirror = Mirror.of(constructor);
+		args = new Object[]{"name", 1};
+	}
+
+	@Benchmark
+	public Target direct() {
+		return new Target("name", 1);
+	}
+
+	@Benchmark
+	public Target reflection() throws ReflectiveOperationException {
+		return constructor.newInstance(args);
+	}
+
+	@Benchmark
+	public Target mirror() {
+		return mirror.invoke(args);
+	}
+
+	public static class Target {
+		public final String name;
+		public final int value;
+
+		public Target(String name, int value) {
+			this.name = name;
+			this.value = value;
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+package net.shadowfacts.mirror;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares reading a field through {@link MirrorField} with plain reflection and a direct read
+ *
+ * @author shadowfacts
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MirrorFieldBenchmark {
+
+	private Target target;
+	private Field field;
+	private MirrorField mirror;
+	private Function<Object, Object> getter;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		target = new Target();
+		field = Target.class.getField("value");
+		mirror = Mirror.of(field);
+		getter = mirror.getter();
+	}
+
+	@Benchmark
+	public String direct() {
+		return target.value;
+	}
+
+	@Benchmark
+	public Object reflection() throws ReflectiveOperationException {
+		return field.get(target);
+	}
+
+	@Benchmark
+	public Object mirror() {
+		return mirror.get(target);
+	}
+
+	@Benchmark
+	public Object getter() {
+		return getter.apply(target);
+	}
+
+	public static class Target {
+		public String value = "value";
+	}
+
+}
@@ -0,0 +1,69 @@
+package net.shadowfacts.mirror;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares invoking a method through {@link MirrorMethod#invoke(Object, Object...)} with plain reflection and a direct call
+ *
+ * @author shadowfacts
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MirrorMethodBenchmark {
+
+	private Target target;
+	private Method method;
+	private MirrorMethod mirror;
+	private MethodInvoker methodHandleInvoker;
+	private MethodInvoker hiddenClassInvoker;
+	private Object[] args;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		target = new Target();
+		method = Target.class.getMethod("add", int.class, int.class);
+		mirror = Mirror.of(method);
+		methodHandleInvoker = mirror.invoker(InvokerBackend.METHOD_HANDLE);
+		hiddenClassInvoker = mirror.invoker(InvokerBackend.HIDDEN_CLASS);
+		args = new Object[]{1, 2};
+	}
+
+	@Benchmark
+	public int direct() {
+		return target.add(1, 2);
+	}
+
+	@Benchmark
+	public Object reflection() throws ReflectiveOperationException {
+		return method.invoke(target, args);
+	}
+
+	@Benchmark
+	public Object mirror() {
+		return mirror.invoke(target, args);
+	}
+
+	@Benchmark
+	public Object methodHandleInvoker() throws Throwable {
+		return methodHandleInvoker.invoke(target, args);
+	}
+
+	@Benchmark
+	public Object hiddenClassInvoker() throws Throwable {
+		return hiddenClassInvoker.invoke(target, args);
+	}
+
+	public static class Target {
+		public int add(int a, int b) {
+			return a + b;
+		}
+	}
+
+}
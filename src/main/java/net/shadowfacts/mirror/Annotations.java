@@ -0,0 +1,182 @@
+package net.shadowfacts.mirror;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Repeatable;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The cached annotations of a single element, stored as parallel arrays of annotation types and instances.
+ * Elements rarely have more than a handful of annotations, so lookups are a linear scan comparing types by identity.
+ * The merged table, which adds the contents of {@link Repeatable} containers and the transitive meta-annotations, is
+ * resolved lazily on top of it with a single breadth-first walk. The meta-annotations of each annotation type are
+ * memoized, so they're only read once no matter how many elements carry the annotation. The walk doesn't descend
+ * into the {@code java.lang.annotation} types, since every annotation type carries them.
+ *
+ * @author shadowfacts
+ */
+final class Annotations {
+
+	static final Annotations EMPTY = new Annotations(new Class<?>[0], new Annotation[0]);
+
+	/**
+	 * The {@code value} method of each {@link Repeatable} container annotation type, or {@code null} for types that
+	 * aren't containers
+	 */
+	private static final ClassValue<Method> CONTAINED = new ClassValue<Method>() {
+		@Override
+		protected Method computeValue(Class<?> type) {
+			try {
+				Method value = type.getDeclaredMethod("value");
+				Class<?> contained = value.getReturnType().getComponentType();
+				if (contained == null || !contained.isAnnotation()) {
+					return null;
+				}
+				Repeatable repeatable = contained.getAnnotation(Repeatable.class);
+				if (repeatable == null || repeatable.value() != type || !value.trySetAccessible()) {
+					return null;
+				}
+				return value;
+			} catch (NoSuchMethodException e) {
+				return null;
+			}
+		}
+	};
+
+	/**
+	 * The meta-annotations of each annotation type and the contents of their repeatable containers, excluding the
+	 * {@code java.lang.annotation} types
+	 */
+	private static final ClassValue<Annotation[]> META = new ClassValue<Annotation[]>() {
+		@Override
+		protected Annotation[] computeValue(Class<?> type) {
+			List<Annotation> meta = new ArrayList<>();
+			for (Annotation a : type.getAnnotations()) {
+				if (!a.annotationType().getName().startsWith("java.lang.annotation.")) {
+					meta.add(a);
+				}
+			}
+			return meta.toArray(new Annotation[0]);
+		}
+	};
+
+	private final Class<?>[] types;
+	private final Annotation[] values;
+
+	private Annotations merged;
+
+	private Annotations(Class<?>[] types, Annotation[] values) {
+		this.types = types;
+		this.values = values;
+	}
+
+	/**
+	 * Builds the annotation table of the given element from {@link AnnotatedElement#getAnnotations()}, so that
+	 * inherited class annotations are included the same way as with {@link AnnotatedElement#getAnnotation(Class)}
+	 * @param element The annotated element
+	 * @return The annotation table
+	 */
+	static Annotations of(AnnotatedElement element) {
+		Annotation[] values = element.getAnnotations();
+		if (values.length == 0) {
+			return EMPTY;
+		}
+		Class<?>[] types = new Class<?>[values.length];
+		for (int i = 0; i < values.length; i++) {
+			types[i] = values[i].annotationType();
+		}
+		return new Annotations(types, values);
+	}
+
+	private static Annotations of(Map<Class<?>, Annotation> annotations) {
+		if (annotations.isEmpty()) {
+			return EMPTY;
+		}
+		return new Annotations(annotations.keySet().toArray(new Class<?>[0]), annotations.values().toArray(new Annotation[0]));
+	}
+
+	/**
+	 * Adds the given annotations, followed by the contents of those that are {@link Repeatable} containers, to the
+	 * given map unless an annotation of the same type has already been found
+	 * @param added Collects the annotations that were actually added
+	 */
+	private static void expand(Annotation[] annotations, Map<Class<?>, Annotation> found, Deque<Annotation> added) {
+		for (Annotation a : annotations) {
+			if (found.putIfAbsent(a.annotationType(), a) == null) {
+				added.add(a);
+			}
+		}
+		for (Annotation annotation : annotations) {
+			Method contained = CONTAINED.get(annotation.annotationType());
+			if (contained == null) {
+				continue;
+			}
+			Annotation[] contents;
+			try {
+				contents = (Annotation[])contained.invoke(annotation);
+			} catch (ReflectiveOperationException e) {
+				throw new RuntimeException(e);
+			}
+			for (Annotation a : contents) {
+				if (found.putIfAbsent(a.annotationType(), a) == null) {
+					added.add(a);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return The merged annotation table: the annotations of the element, the contents of any repeatable containers,
+	 * and all of their transitive meta-annotations, breadth first. When several annotations have the same type, the
+	 * one nearest to the element wins
+	 */
+	Annotations merged() {
+		Annotations merged = this.merged;
+		if (merged == null) {
+			Map<Class<?>, Annotation> found = new LinkedHashMap<>();
+			Deque<Annotation> queue = new ArrayDeque<>();
+			expand(values, found, queue);
+			while (!queue.isEmpty()) {
+				expand(META.get(queue.poll().annotationType()), found, queue);
+			}
+			this.merged = merged = of(found);
+		}
+		return merged;
+	}
+
+	/**
+	 * @param type The annotation type
+	 * @return If the element has an annotation of the given type
+	 */
+	boolean has(Class<? extends Annotation> type) {
+		return indexOf(type) >= 0;
+	}
+
+	/**
+	 * @param type The annotation type
+	 * @param <A> The annotation type
+	 * @return The annotation of the given type, or {@code null} if the element doesn't have one
+	 */
+	@SuppressWarnings("unchecked")
+	<A extends Annotation> A get(Class<A> type) {
+		int i = indexOf(type);
+		return i < 0 ? null : (A)values[i];
+	}
+
+	private int indexOf(Class<?> type) {
+		Class<?>[] types = this.types;
+		for (int i = 0; i < types.length; i++) {
+			if (types[i] == type) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,424 @@
+package net.shadowfacts.mirror;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The cached member mirrors of a single class. The arrays are built lazily, once, and are never modified or exposed
+ * afterwards.
+ * Member mirrors are interned: a public member inherited from a super-class or interface is represented by the same
+ * mirror as in the declared members of the class that declares it, and that mirror is handed out to every caller.
+ * Interned mirrors are never made accessible, {@link MirrorField#setAccessible(boolean)} and
+ * {@link MirrorMethod#setAccessible(boolean)} return a private copy instead, so one caller's access can't leak to
+ * another.
+ * Lookups by name go through hash indices that are also built lazily, so a miss is a hash probe rather than a
+ * reflective search that throws. The indices double as the negative cache for missing members: they are bounded by
+ * the members the class actually has rather than by the names probed, and since this cache is only reachable from
+ * the interned {@link MirrorClass}, it's dropped along with the class when its class loader is collected.
+ *
+ * @author shadowfacts
+ */
+final class ClassMembers {
+
+	private final Class<?> clazz;
+
+	private volatile MirrorField[] declaredFields;
+	private volatile MirrorMethod[] declaredMethods;
+	private volatile MirrorField[] fields;
+	private volatile MirrorMethod[] methods;
+	private volatile MirrorConstructor<?>[] constructors;
+
+	private volatile Class<?>[] hierarchy;
+	private volatile MirrorField[] allFields;
+	private volatile MirrorMethod[] allMethods;
+	private volatile OverrideTable overrides;
+
+	private Map<Field, MirrorField> internedFields;
+	private Map<Method, MirrorMethod> internedMethods;
+
+	private volatile Map<String, MirrorField> fieldsByName;
+	private volatile Map<String, MirrorField> declaredFieldsByName;
+	private volatile Map<Signature, MirrorMethod> methodsBySignature;
+	private volatile Map<Signature, MirrorMethod> declaredMethodsBySignature;
+	private volatile Map<Signature, MirrorConstructor<?>> constructorsBySignature;
+
+	ClassMembers(Class<?> clazz) {
+		this.clazz = clazz;
+	}
+
+	/**
+	 * @return The mirrors of the fields declared by the class
+	 */
+	MirrorField[] declaredFields() {
+		MirrorField[] result = declaredFields;
+		if (result == null) {
+			synchronized (this) {
+				result = declaredFields;
+				if (result == null) {
+					Field[] raw = clazz.getDeclaredFields();
+					Map<Field, MirrorField> index = new HashMap<>(raw.length * 2);
+					result = new MirrorField[raw.length];
+					for (int i = 0; i < raw.length; i++) {
+						result[i] = new MirrorField(raw[i], true);
+						index.put(raw[i], result[i]);
+					}
+					internedFields = index;
+					declaredFields = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return The mirrors of the methods declared by the class
+	 */
+	MirrorMethod[] declaredMethods() {
+		MirrorMethod[] result = declaredMethods;
+		if (result == null) {
+			synchronized (this) {
+				result = declaredMethods;
+				if (result == null) {
+					Method[] raw = clazz.getDeclaredMethods();
+					Map<Method, MirrorMethod> index = new HashMap<>(raw.length * 2);
+					result = new MirrorMethod[raw.length];
+					for (int i = 0; i < raw.length; i++) {
+						result[i] = new MirrorMethod(raw[i], true);
+						index.put(raw[i], result[i]);
+					}
+					internedMethods = index;
+					declaredMethods = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return The mirrors of the public fields of the class, including the inherited ones
+	 */
+	MirrorField[] fields() {
+		MirrorField[] result = fields;
+		if (result == null) {
+			Field[] raw = clazz.getFields();
+			result = new MirrorField[raw.length];
+			for (int i = 0; i < raw.length; i++) {
+				result[i] = intern(raw[i]);
+			}
+			fields = result;
+		}
+		return result;
+	}
+
+	/**
+	 * @return The mirrors of the public methods of the class, including the inherited ones
+	 */
+	MirrorMethod[] methods() {
+		MirrorMethod[] result = methods;
+		if (result == null) {
+			Method[] raw = clazz.getMethods();
+			result = new MirrorMethod[raw.length];
+			for (int i = 0; i < raw.length; i++) {
+				result[i] = intern(raw[i]);
+			}
+			methods = result;
+		}
+		return result;
+	}
+
+	/**
+	 * @return The mirrors of the public constructors of the class
+	 */
+	MirrorConstructor<?>[] constructors() {
+		MirrorConstructor<?>[] result = constructors;
+		if (result == null) {
+			Constructor<?>[] raw = clazz.getConstructors();
+			result = new MirrorConstructor<?>[raw.length];
+			for (int i = 0; i < raw.length; i++) {
+				result[i] = new MirrorConstructor<>(raw[i]);
+			}
+			constructors = result;
+		}
+		return result;
+	}
+
+	/**
+	 * @return The class, its super-classes from nearest to {@link Object}, and then every interface they implement,
+	 * breadth first, each exactly once
+	 */
+	Class<?>[] hierarchy() {
+		Class<?>[] result = hierarchy;
+		if (result == null) {
+			Set<Class<?>> classes = new LinkedHashSet<>();
+			for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+				classes.add(c);
+			}
+			List<Class<?>> queue = new ArrayList<>(classes);
+			for (int i = 0; i < queue.size(); i++) {
+				for (Class<?> iface : queue.get(i).getInterfaces()) {
+					if (classes.add(iface)) {
+						queue.add(iface);
+					}
+				}
+			}
+			hierarchy = result = classes.toArray(new Class<?>[0]);
+		}
+		return result;
+	}
+
+	/**
+	 * @return The mirrors of every field declared by the class and its super-types, in {@link #hierarchy()} order.
+	 * Fields hidden by a field of the same name in a sub-class are still included, since they are distinct, but come
+	 * after the field that hides them
+	 */
+	MirrorField[] allFields() {
+		MirrorField[] result = allFields;
+		if (result == null) {
+			List<MirrorField> fields = new ArrayList<>();
+			for (Class<?> c : hierarchy()) {
+				fields.addAll(Arrays.asList(Mirror.of(c).members.declaredFields()));
+			}
+			allFields = result = fields.toArray(new MirrorField[0]);
+		}
+		return result;
+	}
+
+	/**
+	 * @return The mirrors of every method declared by the class and its super-types, in {@link #hierarchy()} order,
+	 * excluding methods that are overridden (or, for static methods, hidden) by a method nearer to the class and static
+	 * interface methods, which aren't inherited. A default method also replaces the methods of its super-interfaces
+	 * that were visited first
+	 */
+	MirrorMethod[] allMethods() {
+		MirrorMethod[] result = allMethods;
+		if (result == null) {
+			List<MirrorMethod> methods = new ArrayList<>();
+			Map<Signature, List<Method>> seen = new HashMap<>();
+			for (Class<?> c : hierarchy()) {
+				for (MirrorMethod m : Mirror.of(c).members.declaredMethods()) {
+					Method method = m.unwrap();
+					if (c != clazz && c.isInterface() && Modifier.isStatic(method.getModifiers())) {
+						continue;
+					}
+					List<Method> sameSignature = seen.computeIfAbsent(new Signature(method.getName(), method.getParameterTypes()), k -> new ArrayList<>(1));
+					List<Method> nearer = sameSignature;
+					if (method.isDefault()) {
+						nearer = new ArrayList<>(sameSignature.size());
+						for (Method other : sameSignature) {
+							if (OverrideTable.isMoreSpecificDefault(method, other)) {
+								methods.remove(intern(other));
+							} else {
+								nearer.add(other);
+							}
+						}
+					}
+					if (!isOverridden(method, nearer)) {
+						methods.add(m);
+					}
+					sameSignature.add(method);
+				}
+			}
+			allMethods = result = methods.toArray(new MirrorMethod[0]);
+		}
+		return result;
+	}
+
+	/**
+	 * @return The override table of the class
+	 */
+	OverrideTable overrides() {
+		OverrideTable result = overrides;
+		if (result == null) {
+			overrides = result = OverrideTable.build(clazz, hierarchy());
+		}
+		return result;
+	}
+
+	/**
+	 * @param method A method
+	 * @param candidates The methods with the same signature that are nearer to the class
+	 * @return If one of the candidates overrides or hides the method
+	 */
+	static boolean isOverridden(Method method, List<Method> candidates) {
+		int modifiers = method.getModifiers();
+		if (Modifier.isPrivate(modifiers)) {
+			return false;
+		}
+		for (Method candidate : candidates) {
+			if (Modifier.isPrivate(candidate.getModifiers()) || candidate.getDeclaringClass() == method.getDeclaringClass()) {
+				continue;
+			}
+			if (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers) || candidate.getDeclaringClass().getPackageName().equals(method.getDeclaringClass().getPackageName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the public field with the given name, resolved the same way as {@link Class#getField(String)}
+	 * @param name The name of the field
+	 * @return The field, or {@code null} if there isn't one
+	 */
+	MirrorField field(String name) {
+		Map<String, MirrorField> index = fieldsByName;
+		if (index == null) {
+			fieldsByName = index = indexByName(fields());
+		}
+		return index.get(name);
+	}
+
+	/**
+	 * Finds the declared field with the given name
+	 * @param name The name of the field
+	 * @return The field, or {@code null} if there isn't one
+	 */
+	MirrorField declaredField(String name) {
+		Map<String, MirrorField> index = declaredFieldsByName;
+		if (index == null) {
+			declaredFieldsByName = index = indexByName(declaredFields());
+		}
+		return index.get(name);
+	}
+
+	/**
+	 * Finds the public method with the given name and parameter types, resolved the same way as
+	 * {@link Class#getMethod(String, Class[])}
+	 * @param name The name of the method
+	 * @param parameterTypes The parameter types of the method
+	 * @return The method, or {@code null} if there isn't one
+	 */
+	MirrorMethod method(String name, Class<?>[] parameterTypes) {
+		Map<Signature, MirrorMethod> index = methodsBySignature;
+		if (index == null) {
+			methodsBySignature = index = indexBySignature(methods());
+		}
+		return index.get(new Signature(name, parameterTypes));
+	}
+
+	/**
+	 * Finds the declared method with the given name and parameter types, resolved the same way as
+	 * {@link Class#getDeclaredMethod(String, Class[])}
+	 * @param name The name of the method
+	 * @param parameterTypes The parameter types of the method
+	 * @return The method, or {@code null} if there isn't one
+	 */
+	MirrorMethod declaredMethod(String name, Class<?>[] parameterTypes) {
+		Map<Signature, MirrorMethod> index = declaredMethodsBySignature;
+		if (index == null) {
+			declaredMethodsBySignature = index = indexBySignature(declaredMethods());
+		}
+		return index.get(new Signature(name, parameterTypes));
+	}
+
+	/**
+	 * Finds the public constructor with the given parameter types
+	 * @param parameterTypes The parameter types of the constructor
+	 * @return The constructor, or {@code null} if there isn't one
+	 */
+	MirrorConstructor<?> constructor(Class<?>[] parameterTypes) {
+		Map<Signature, MirrorConstructor<?>> index = constructorsBySignature;
+		if (index == null) {
+			MirrorConstructor<?>[] constructors = constructors();
+			index = new HashMap<>(constructors.length * 2);
+			for (MirrorConstructor<?> c : constructors) {
+				index.put(new Signature("<init>", c.unwrap().getParameterTypes()), c);
+			}
+			constructorsBySignature = index;
+		}
+		return index.get(new Signature("<init>", parameterTypes));
+	}
+
+	/**
+	 * Indexes the given fields by name. When several fields share a name, the first one wins, which matches the
+	 * order that {@link Class#getField(String)} searches in
+	 */
+	private static Map<String, MirrorField> indexByName(MirrorField[] fields) {
+		Map<String, MirrorField> index = new HashMap<>(fields.length * 2);
+		for (MirrorField f : fields) {
+			index.putIfAbsent(f.unwrap().getName(), f);
+		}
+		return index;
+	}
+
+	/**
+	 * Indexes the given methods by name and parameter types. When several methods share a signature (e.g. a bridge
+	 * method and the method it bridges to), the one with the most specific return type wins
+	 */
+	private static Map<Signature, MirrorMethod> indexBySignature(MirrorMethod[] methods) {
+		Map<Signature, MirrorMethod> index = new HashMap<>(methods.length * 2);
+		for (MirrorMethod m : methods) {
+			Method method = m.unwrap();
+			index.merge(new Signature(method.getName(), method.getParameterTypes()), m, (existing, candidate) -> {
+				Class<?> existingType = existing.unwrap().getReturnType();
+				Class<?> candidateType = candidate.unwrap().getReturnType();
+				return existingType != candidateType && existingType.isAssignableFrom(candidateType) ? candidate : existing;
+			});
+		}
+		return index;
+	}
+
+	/**
+	 * Retrieves the interned mirror of the given field from its declaring class
+	 */
+	static MirrorField intern(Field f) {
+		ClassMembers owner = Mirror.of(f.getDeclaringClass()).members;
+		owner.declaredFields();
+		MirrorField mirror = owner.internedFields.get(f);
+		return mirror != null ? mirror : new MirrorField(f, true);
+	}
+
+	/**
+	 * Retrieves the interned mirror of the given method from its declaring class
+	 */
+	static MirrorMethod intern(Method m) {
+		ClassMembers owner = Mirror.of(m.getDeclaringClass()).members;
+		owner.declaredMethods();
+		MirrorMethod mirror = owner.internedMethods.get(m);
+		return mirror != null ? mirror : new MirrorMethod(m, true);
+	}
+
+	/**
+	 * A method name and parameter types, used as the key of the method indices
+	 */
+	static final class Signature {
+
+		private static final Class<?>[] NO_PARAMETERS = new Class<?>[0];
+
+		private final String name;
+		private final Class<?>[] parameterTypes;
+		private final int hash;
+
+		Signature(String name, Class<?>[] parameterTypes) {
+			this.name = name;
+			this.parameterTypes = parameterTypes == null ? NO_PARAMETERS : parameterTypes;
+			this.hash = 31 * name.hashCode() + Arrays.hashCode(this.parameterTypes);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Signature)) return false;
+
+			Signature that = (Signature) o;
+
+			return hash == that.hash && name.equals(that.name) && Arrays.equals(parameterTypes, that.parameterTypes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+	}
+
+}
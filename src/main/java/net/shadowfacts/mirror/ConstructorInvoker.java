@@ -0,0 +1,21 @@
+package net.shadowfacts.mirror;
+
+/**
+ * A compiled invoker for a single constructor
+ *
+ * @author shadowfacts
+ *
+ * @see MirrorConstructor#invoker(InvokerBackend)
+ */
+public interface ConstructorInvoker {
+
+	/**
+	 * Invokes the constructor with the given arguments. Unlike {@link MirrorConstructor#invoke(Object...)}, the
+	 * arguments are not validated and exceptions thrown by the constructor are not wrapped
+	 * @param args The arguments to pass to the constructor. Must have exactly as many elements as the constructor has parameters
+	 * @return The new instance
+	 * @throws Throwable Anything thrown by the constructor
+	 */
+	Object newInstance(Object[] args) throws Throwable;
+
+}
@@ -0,0 +1,94 @@
+package net.shadowfacts.mirror;
+
+/**
+ * Helpers for checking values against member types before they're passed to a reflective or compiled invoker, so
+ * that both reject the same values with the same exception.
+ * Primitive types accept their wrapper and the wrappers of the primitive types that widen to them, the same as
+ * {@link java.lang.reflect.Method#invoke(Object, Object...)} and {@link java.lang.reflect.Field#set(Object, Object)}.
+ *
+ * @author shadowfacts
+ */
+final class Conversions {
+
+	private Conversions() {
+	}
+
+	/**
+	 * Checks the given arguments against the given parameter types
+	 * @param parameterTypes The parameter types
+	 * @param args The arguments
+	 * @throws IllegalArgumentException If there's the wrong number of arguments or an argument can't be converted
+	 *                                  to its parameter type
+	 */
+	static void checkArguments(Class<?>[] parameterTypes, Object[] args) {
+		if (args.length != parameterTypes.length) {
+			throw new IllegalArgumentException("Wrong number of arguments");
+		}
+		for (int i = 0; i < parameterTypes.length; i++) {
+			Object arg = args[i];
+			if (!isAssignable(parameterTypes[i], arg)) {
+				if (arg == null) {
+					throw new IllegalArgumentException("Argument " + i + " was null. Expected " + parameterTypes[i].getName());
+				}
+				throw new IllegalArgumentException("Argument " + i + " was of wrong type. Expected " + parameterTypes[i].getName() + " got " + arg.getClass().getName());
+			}
+		}
+	}
+
+	/**
+	 * Checks the receiver of an instance member
+	 * @param declaringClass The class that declares the member
+	 * @param instance The receiver
+	 * @throws NullPointerException If the receiver is {@code null}
+	 * @throws IllegalArgumentException If the receiver isn't an instance of the declaring class
+	 */
+	static void checkReceiver(Class<?> declaringClass, Object instance) {
+		if (instance == null) {
+			throw new NullPointerException("Receiver was null. Expected " + declaringClass.getName());
+		}
+		if (!declaringClass.isInstance(instance)) {
+			throw new IllegalArgumentException("Receiver was of wrong type. Expected " + declaringClass.getName() + " got " + instance.getClass().getName());
+		}
+	}
+
+	/**
+	 * @param type The type
+	 * @param value The value
+	 * @return If the given value can be passed for the given type, unboxing and widening it if the type is primitive
+	 */
+	static boolean isAssignable(Class<?> type, Object value) {
+		if (value == null) {
+			return !type.isPrimitive();
+		}
+		if (!type.isPrimitive()) {
+			return type.isInstance(value);
+		}
+		Class<?> from = value.getClass();
+		if (type == int.class) {
+			return from == Integer.class || from == Short.class || from == Byte.class || from == Character.class;
+		}
+		if (type == long.class) {
+			return from == Long.class || from == Integer.class || from == Short.class || from == Byte.class || from == Character.class;
+		}
+		if (type == double.class) {
+			return from == Double.class || from == Float.class || from == Long.class || from == Integer.class || from == Short.class || from == Byte.class || from == Character.class;
+		}
+		if (type == float.class) {
+			return from == Float.class || from == Long.class || from == Integer.class || from == Short.class || from == Byte.class || from == Character.class;
+		}
+		if (type == short.class) {
+			return from == Short.class || from == Byte.class;
+		}
+		if (type == boolean.class) {
+			return from == Boolean.class;
+		}
+		if (type == byte.class) {
+			return from == Byte.class;
+		}
+		if (type == char.class) {
+			return from == Character.class;
+		}
+		return false;
+	}
+
+}
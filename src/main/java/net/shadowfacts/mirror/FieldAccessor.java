@@ -0,0 +1,26 @@
+package net.shadowfacts.mirror;
+
+/**
+ * A compiled accessor for a single field
+ *
+ * @author shadowfacts
+ *
+ * @see MirrorField#accessor(InvokerBackend)
+ */
+public interface FieldAccessor {
+
+	/**
+	 * Retrieves the value of the field for the given instance
+	 * @param instance The instance for which to retrieve the field. Ignored if the field is static
+	 * @return The value of the field
+	 */
+	Object get(Object instance);
+
+	/**
+	 * Sets the value of the field on the given instance
+	 * @param instance The instance for which to set the field. Ignored if the field is static
+	 * @param value The new value of the field
+	 */
+	void set(Object instance, Object value);
+
+}
@@ -0,0 +1,612 @@
+package net.shadowfacts.mirror;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Generates the hidden classes used by {@link InvokerBackend#HIDDEN_CLASS}. Each generated class implements one of
+ * {@link MethodInvoker}, {@link FieldAccessor} or {@link ConstructorInvoker} with straight-line bytecode that
+ * accesses the target member directly.
+ *
+ * @author shadowfacts
+ */
+final class HiddenClasses {
+
+	private static final int CLASS_VERSION = 59;
+
+	private static final int ACC_PUBLIC = 0x0001;
+	private static final int ACC_FINAL = 0x0010;
+	private static final int ACC_SUPER = 0x0020;
+
+	private static final int ACONST_NULL = 0x01;
+	private static final int ICONST_0 = 0x03;
+	private static final int BIPUSH = 0x10;
+	private static final int SIPUSH = 0x11;
+	private static final int ALOAD_0 = 0x2a;
+	private static final int ALOAD_1 = 0x2b;
+	private static final int ALOAD_2 = 0x2c;
+	private static final int AALOAD = 0x32;
+	private static final int DUP = 0x59;
+	private static final int ARETURN = 0xb0;
+	private static final int RETURN = 0xb1;
+	private static final int GETSTATIC = 0xb2;
+	private static final int PUTSTATIC = 0xb3;
+	private static final int GETFIELD = 0xb4;
+	private static final int PUTFIELD = 0xb5;
+	private static final int INVOKEVIRTUAL = 0xb6;
+	private static final int INVOKESPECIAL = 0xb7;
+	private static final int INVOKESTATIC = 0xb8;
+	private static final int INVOKEINTERFACE = 0xb9;
+	private static final int NEW = 0xbb;
+	private static final int CHECKCAST = 0xc0;
+
+	private HiddenClasses() {
+	}
+
+	/**
+	 * Checks if Mirror may access the given member without a {@link java.lang.invoke.MethodHandle} to check it. A
+	 * generated class can be a nestmate of the member's class, so it must only be generated for members that could
+	 * be unreflected: ones that were made accessible, or public members of public classes exported to Mirror.
+	 * Members that fail this check are left to the method handle fallback, which throws if they really are inaccessible
+	 * @param object The member
+	 * @return If the member is accessible
+	 */
+	@SuppressWarnings("deprecation")
+	static boolean canAccess(AccessibleObject object) {
+		if (object.isAccessible()) {
+			return true;
+		}
+		Member member = (Member)object;
+		Class<?> owner = member.getDeclaringClass();
+		return Modifier.isPublic(member.getModifiers()) && Modifier.isPublic(owner.getModifiers()) && owner.getModule().isExported(owner.getPackageName(), HiddenClasses.class.getModule());
+	}
+
+	/**
+	 * Generates a {@link MethodInvoker} for the given method
+	 * @param method The method
+	 * @return The invoker, or {@code null} if a hidden class can't be generated for the method
+	 */
+	static MethodInvoker methodInvoker(Method method) {
+		Class<?> owner = method.getDeclaringClass();
+		if (!canGenerate(method)) {
+			return null;
+		}
+		ClassBuilder builder = new ClassBuilder(MethodInvoker.class);
+		Code code = builder.method("invoke", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;");
+
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+		if (!isStatic) {
+			code.op(ALOAD_1);
+			code.checkcast(owner);
+			code.reserve(1);
+		}
+		loadArguments(code, ALOAD_2, method.getParameterTypes());
+
+		String descriptor = MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+		if (isStatic) {
+			code.invoke(INVOKESTATIC, owner, method.getName(), descriptor);
+		} else if (owner.isInterface()) {
+			code.invoke(INVOKEINTERFACE, owner, method.getName(), descriptor);
+		} else {
+			code.invoke(INVOKEVIRTUAL, owner, method.getName(), descriptor);
+		}
+
+		Class<?> returnType = method.getReturnType();
+		if (returnType == void.class) {
+			code.op(ACONST_NULL);
+		} else {
+			box(code, returnType);
+		}
+		code.op(ARETURN);
+
+		return define(builder, method, MethodInvoker.class);
+	}
+
+	/**
+	 * Generates a {@link ConstructorInvoker} for the given constructor
+	 * @param constructor The constructor
+	 * @return The invoker, or {@code null} if a hidden class can't be generated for the constructor
+	 */
+	static ConstructorInvoker constructorInvoker(Constructor<?> constructor) {
+		Class<?> owner = constructor.getDeclaringClass();
+		if (!canGenerate(constructor) || Modifier.isAbstract(owner.getModifiers())) {
+			return null;
+		}
+		ClassBuilder builder = new ClassBuilder(ConstructorInvoker.class);
+		Code code = builder.method("newInstance", "([Ljava/lang/Object;)Ljava/lang/Object;");
+
+		code.op(NEW);
+		code.u2(builder.pool.cls(owner));
+		code.op(DUP);
+		code.reserve(2);
+		loadArguments(code, ALOAD_1, constructor.getParameterTypes());
+		code.invoke(INVOKESPECIAL, owner, "<init>", MethodType.methodType(void.class, constructor.getParameterTypes()).toMethodDescriptorString());
+		code.op(ARETURN);
+
+		return define(builder, constructor, ConstructorInvoker.class);
+	}
+
+	/**
+	 * Generates a {@link FieldAccessor} for the given field
+	 * @param field The field
+	 * @return The accessor, or {@code null} if a hidden class can't be generated for the field
+	 */
+	static FieldAccessor fieldAccessor(Field field) {
+		Class<?> owner = field.getDeclaringClass();
+		if (!canGenerate(field) || Modifier.isFinal(field.getModifiers())) {
+			return null;
+		}
+		boolean isStatic = Modifier.isStatic(field.getModifiers());
+		String descriptor = MethodType.methodType(field.getType()).toMethodDescriptorString().substring(2);
+		ClassBuilder builder = new ClassBuilder(FieldAccessor.class);
+
+		Code get = builder.method("get", "(Ljava/lang/Object;)Ljava/lang/Object;");
+		if (isStatic) {
+			get.field(GETSTATIC, owner, field.getName(), descriptor);
+		} else {
+			get.op(ALOAD_1);
+			get.checkcast(owner);
+			get.field(GETFIELD, owner, field.getName(), descriptor);
+		}
+		box(get, field.getType());
+		get.op(ARETURN);
+
+		Code set = builder.method("set", "(Ljava/lang/Object;Ljava/lang/Object;)V");
+		set.reserve(1);
+		if (!isStatic) {
+			set.op(ALOAD_1);
+			set.checkcast(owner);
+		}
+		set.op(ALOAD_2);
+		unbox(set, field.getType());
+		set.field(isStatic ? PUTSTATIC : PUTFIELD, owner, field.getName(), descriptor);
+		set.op(RETURN);
+
+		return define(builder, field, FieldAccessor.class);
+	}
+
+	private static boolean canGenerate(Member member) {
+		Class<?> owner = member.getDeclaringClass();
+		return !owner.isHidden() && !owner.isArray() && !owner.isPrimitive()
+				&& (!(member instanceof Executable) || !hasHiddenParameter((Executable)member));
+	}
+
+	private static boolean hasHiddenParameter(Executable executable) {
+		for (Class<?> type : executable.getParameterTypes()) {
+			if (type.isHidden()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Loads each element of the arguments array onto the stack, casting or unboxing it to the parameter type
+	 * @param code The code to append to
+	 * @param loadArray The instruction that loads the arguments array
+	 * @param parameterTypes The types of the parameters
+	 */
+	private static void loadArguments(Code code, int loadArray, Class<?>[] parameterTypes) {
+		for (int i = 0; i < parameterTypes.length; i++) {
+			code.op(loadArray);
+			code.pushInt(i);
+			code.op(AALOAD);
+			unbox(code, parameterTypes[i]);
+			code.reserve(slots(parameterTypes[i]));
+		}
+	}
+
+	private static void box(Code code, Class<?> type) {
+		if (type.isPrimitive()) {
+			Class<?> wrapper = MethodType.methodType(type).wrap().returnType();
+			code.invoke(INVOKESTATIC, wrapper, "valueOf", MethodType.methodType(wrapper, type).toMethodDescriptorString());
+		}
+	}
+
+	/**
+	 * Unboxes the value on top of the stack to the given type. Types that other primitives widen to are unboxed by
+	 * calling into {@link Widening}, since the generated code can't branch on the type of the wrapper
+	 */
+	private static void unbox(Code code, Class<?> type) {
+		if (type == int.class || type == long.class || type == float.class || type == double.class || type == short.class) {
+			code.invoke(INVOKESTATIC, Widening.class, type.getName() + "Value", MethodType.methodType(type, Object.class).toMethodDescriptorString());
+		} else if (type.isPrimitive()) {
+			Class<?> wrapper = MethodType.methodType(type).wrap().returnType();
+			code.checkcast(wrapper);
+			code.invoke(INVOKEVIRTUAL, wrapper, type.getName() + "Value", MethodType.methodType(type).toMethodDescriptorString());
+		} else if (type != Object.class) {
+			code.checkcast(type);
+		}
+	}
+
+	private static int slots(Class<?> type) {
+		return type == long.class || type == double.class ? 2 : 1;
+	}
+
+	/**
+	 * Defines the built class as a hidden class and instantiates it. The class is first defined as a nestmate of the
+	 * owner, so that it can access private members. If a lookup with full privilege access in the owner can't be
+	 * obtained, it is defined in Mirror's own package, which only works for public members of classes visible to
+	 * Mirror's class loader.
+	 * @return The instance, or {@code null} if the class couldn't be defined
+	 */
+	private static <I> I define(ClassBuilder builder, Member member, Class<I> iface) {
+		Class<?> owner = member.getDeclaringClass();
+		MethodHandles.Lookup lookup = null;
+		try {
+			MethodHandles.Lookup ownerLookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+			if (ownerLookup.hasFullPrivilegeAccess() && isVisible(iface, owner.getClassLoader())) {
+				lookup = ownerLookup;
+			}
+		} catch (IllegalAccessException ignored) {
+		}
+		if (lookup == null) {
+			if (!isPubliclyAccessible(member)) {
+				return null;
+			}
+			lookup = MethodHandles.lookup();
+		}
+
+		String pkg = lookup.lookupClass().getPackageName();
+		byte[] bytes = builder.toByteArray((pkg.isEmpty() ? "" : pkg.replace('.', '/') + "/") + "Mirror$" + iface.getSimpleName());
+		try {
+			MethodHandles.Lookup.ClassOption[] options = lookup.lookupClass() == owner ? new MethodHandles.Lookup.ClassOption[]{MethodHandles.Lookup.ClassOption.NESTMATE} : new MethodHandles.Lookup.ClassOption[0];
+			MethodHandles.Lookup hidden = lookup.defineHiddenClass(bytes, true, options);
+			return iface.cast(hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke());
+		} catch (Throwable t) {
+			throw new RuntimeException(t);
+		}
+	}
+
+	/**
+	 * @return If the member and all the types it refers to are public and visible to Mirror's class loader
+	 */
+	private static boolean isPubliclyAccessible(Member member) {
+		if (!Modifier.isPublic(member.getModifiers()) || !isPubliclyAccessible(member.getDeclaringClass())) {
+			return false;
+		}
+		if (member instanceof Field) {
+			return isPubliclyAccessible(((Field)member).getType());
+		}
+		for (Class<?> type : ((Executable)member).getParameterTypes()) {
+			if (!isPubliclyAccessible(type)) {
+				return false;
+			}
+		}
+		return !(member instanceof Method) || isPubliclyAccessible(((Method)member).getReturnType());
+	}
+
+	private static boolean isPubliclyAccessible(Class<?> clazz) {
+		while (clazz.isArray()) {
+			clazz = clazz.getComponentType();
+		}
+		return clazz.isPrimitive() || (Modifier.isPublic(clazz.getModifiers()) && isVisible(clazz, HiddenClasses.class.getClassLoader()));
+	}
+
+	private static boolean isVisible(Class<?> clazz, ClassLoader loader) {
+		try {
+			return Class.forName(clazz.getName(), false, loader) == clazz;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @return The internal name of the class, or its descriptor if it's an array class, as used by {@code CONSTANT_Class} entries
+	 */
+	private static String internalName(Class<?> clazz) {
+		return clazz.getName().replace('.', '/');
+	}
+
+	/**
+	 * A minimal class file writer for a public final class that extends {@link Object} and implements a single interface
+	 */
+	private static class ClassBuilder {
+		private final ConstantPool pool = new ConstantPool();
+		private final Class<?> iface;
+		private final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+		private Code pending;
+		private int methodCount;
+
+		ClassBuilder(Class<?> iface) {
+			this.iface = iface;
+			Code init = method("<init>", "()V");
+			init.op(ALOAD_0);
+			init.invoke(INVOKESPECIAL, Object.class, "<init>", "()V");
+			init.op(RETURN);
+		}
+
+		Code method(String name, String descriptor) {
+			flush();
+			pending = new Code(pool, name, descriptor);
+			return pending;
+		}
+
+		private void flush() {
+			if (pending != null) {
+				pending.writeTo(new DataOutputStream(methods));
+				methodCount++;
+				pending = null;
+			}
+		}
+
+		byte[] toByteArray(String name) {
+			flush();
+			int thisClass = pool.cls(name);
+			int superClass = pool.cls(Object.class);
+			int interfaceClass = pool.cls(iface);
+			try {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(bytes);
+				out.writeInt(0xCAFEBABE);
+				out.writeShort(0);
+				out.writeShort(CLASS_VERSION);
+				pool.writeTo(out);
+				out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+				out.writeShort(thisClass);
+				out.writeShort(superClass);
+				out.writeShort(1);
+				out.writeShort(interfaceClass);
+				out.writeShort(0);
+				out.writeShort(methodCount);
+				methods.writeTo(out);
+				out.writeShort(0);
+				return bytes.toByteArray();
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * The body of a single public method. Generated code never branches, so no stack map frames are needed
+	 */
+	private static class Code {
+		private final ConstantPool pool;
+		private final int name;
+		private final int descriptor;
+		private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+		private int maxStack;
+
+		Code(ConstantPool pool, String name, String descriptor) {
+			this.pool = pool;
+			this.name = pool.utf8(name);
+			this.descriptor = pool.utf8(descriptor);
+			this.maxStack = 2;
+		}
+
+		void op(int opcode) {
+			code.write(opcode);
+		}
+
+		void u2(int value) {
+			code.write(value >>> 8);
+			code.write(value);
+		}
+
+		/**
+		 * Reserves the given number of additional operand stack slots. Generated code is simple enough that the
+		 * maximum stack depth is computed conservatively by summing these up
+		 */
+		void reserve(int slots) {
+			maxStack += slots;
+		}
+
+		void pushInt(int value) {
+			if (value <= 5) {
+				op(ICONST_0 + value);
+			} else if (value <= Byte.MAX_VALUE) {
+				op(BIPUSH);
+				op(value);
+			} else {
+				op(SIPUSH);
+				u2(value);
+			}
+		}
+
+		void checkcast(Class<?> type) {
+			op(CHECKCAST);
+			u2(pool.cls(type));
+		}
+
+		void invoke(int opcode, Class<?> owner, String name, String descriptor) {
+			boolean isInterface = owner.isInterface();
+			op(opcode);
+			u2(isInterface ? pool.interfaceMethodRef(owner, name, descriptor) : pool.methodRef(owner, name, descriptor));
+			if (opcode == INVOKEINTERFACE) {
+				int count = 1;
+				for (Class<?> type : MethodType.fromMethodDescriptorString(descriptor, null).parameterArray()) {
+					count += slots(type);
+				}
+				op(count);
+				op(0);
+			}
+		}
+
+		void field(int opcode, Class<?> owner, String name, String descriptor) {
+			op(opcode);
+			u2(pool.fieldRef(owner, name, descriptor));
+		}
+
+		void writeTo(DataOutputStream out) {
+			try {
+				out.writeShort(ACC_PUBLIC);
+				out.writeShort(name);
+				out.writeShort(descriptor);
+				out.writeShort(1);
+				out.writeShort(pool.utf8("Code"));
+				out.writeInt(12 + code.size());
+				out.writeShort(maxStack);
+				out.writeShort(3);
+				out.writeInt(code.size());
+				code.writeTo(out);
+				out.writeShort(0);
+				out.writeShort(0);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	private static class ConstantPool {
+		private static final int UTF8 = 1;
+		private static final int CLASS = 7;
+		private static final int FIELD_REF = 9;
+		private static final int METHOD_REF = 10;
+		private static final int INTERFACE_METHOD_REF = 11;
+		private static final int NAME_AND_TYPE = 12;
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		private final DataOutputStream out = new DataOutputStream(bytes);
+		private final Map<String, Integer> entries = new HashMap<>();
+		private int count = 1;
+
+		int utf8(String value) {
+			return entry("U" + value, () -> {
+				out.writeByte(UTF8);
+				out.writeUTF(value);
+			});
+		}
+
+		int cls(Class<?> clazz) {
+			return cls(internalName(clazz));
+		}
+
+		int cls(String internalName) {
+			int name = utf8(internalName);
+			return entry("C" + internalName, () -> {
+				out.writeByte(CLASS);
+				out.writeShort(name);
+			});
+		}
+
+		int fieldRef(Class<?> owner, String name, String descriptor) {
+			return ref(FIELD_REF, owner, name, descriptor);
+		}
+
+		int methodRef(Class<?> owner, String name, String descriptor) {
+			return ref(METHOD_REF, owner, name, descriptor);
+		}
+
+		int interfaceMethodRef(Class<?> owner, String name, String descriptor) {
+			return ref(INTERFACE_METHOD_REF, owner, name, descriptor);
+		}
+
+		private int ref(int tag, Class<?> owner, String name, String descriptor) {
+			int cls = cls(owner);
+			int nameIndex = utf8(name);
+			int descriptorIndex = utf8(descriptor);
+			int nameAndType = entry("N" + name + descriptor, () -> {
+				out.writeByte(NAME_AND_TYPE);
+				out.writeShort(nameIndex);
+				out.writeShort(descriptorIndex);
+			});
+			return entry(tag + internalName(owner) + "." + name + descriptor, () -> {
+				out.writeByte(tag);
+				out.writeShort(cls);
+				out.writeShort(nameAndType);
+			});
+		}
+
+		private int entry(String key, Writer writer) {
+			Integer index = entries.get(key);
+			if (index == null) {
+				try {
+					writer.write();
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+				index = count++;
+				entries.put(key, index);
+			}
+			return index;
+		}
+
+		void writeTo(DataOutputStream out) throws IOException {
+			out.writeShort(count);
+			bytes.writeTo(out);
+		}
+
+		private interface Writer {
+			void write() throws IOException;
+		}
+	}
+
+	/**
+	 * Widening unboxing conversions for the generated classes, matching {@link Method#invoke(Object, Object...)} and
+	 * {@link Field#set(Object, Object)}. Public so that classes generated in other packages can call it, even though
+	 * it can't be named outside of this package
+	 */
+	public static final class Widening {
+
+		private Widening() {
+		}
+
+		public static short shortValue(Object value) {
+			if (value instanceof Short || value instanceof Byte) {
+				return ((Number)value).shortValue();
+			}
+			throw mismatch(value, short.class);
+		}
+
+		public static int intValue(Object value) {
+			if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+				return ((Number)value).intValue();
+			} else if (value instanceof Character) {
+				return (Character)value;
+			}
+			throw mismatch(value, int.class);
+		}
+
+		public static long longValue(Object value) {
+			if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+				return ((Number)value).longValue();
+			} else if (value instanceof Character) {
+				return (Character)value;
+			}
+			throw mismatch(value, long.class);
+		}
+
+		public static float floatValue(Object value) {
+			if (value instanceof Float || value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+				return ((Number)value).floatValue();
+			} else if (value instanceof Character) {
+				return (Character)value;
+			}
+			throw mismatch(value, float.class);
+		}
+
+		public static double doubleValue(Object value) {
+			if (value instanceof Double || value instanceof Float || value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+				return ((Number)value).doubleValue();
+			} else if (value instanceof Character) {
+				return (Character)value;
+			}
+			throw mismatch(value, double.class);
+		}
+
+		/**
+		 * @return The exception the equivalent {@code checkcast} would have thrown
+		 */
+		private static RuntimeException mismatch(Object value, Class<?> type) {
+			if (value == null) {
+				return new NullPointerException();
+			}
+			return new ClassCastException("Cannot convert " + value.getClass().getName() + " to " + type.getName());
+		}
+
+	}
+
+}
@@ -0,0 +1,25 @@
+package net.shadowfacts.mirror;
+
+/**
+ * The strategies that can be used to compile invokers for {@link MirrorMethod}s, {@link MirrorField}s and
+ * {@link MirrorConstructor}s
+ *
+ * @author shadowfacts
+ *
+ * @see Mirror#setInvokerBackend(InvokerBackend)
+ */
+public enum InvokerBackend {
+
+	/**
+	 * Invokers call a {@link java.lang.invoke.MethodHandle} that has been adapted to the generic invoker signature
+	 */
+	METHOD_HANDLE,
+	/**
+	 * Invokers are hidden classes containing a direct {@code invokevirtual}/{@code getfield}/{@code new} instruction,
+	 * defined with {@link java.lang.invoke.MethodHandles.Lookup#defineHiddenClass(byte[], boolean, java.lang.invoke.MethodHandles.Lookup.ClassOption...)}.
+	 * Members that a hidden class can't be generated for (e.g. final fields, or members of classes that aren't visible
+	 * to a lookup with full privilege access) fall back to {@link #METHOD_HANDLE}
+	 */
+	HIDDEN_CLASS
+
+}
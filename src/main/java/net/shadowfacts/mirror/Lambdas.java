@@ -0,0 +1,145 @@
+package net.shadowfacts.mirror;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+/**
+ * Helpers for implementing functional interfaces on top of method handles using {@link LambdaMetafactory}
+ *
+ * @author shadowfacts
+ */
+final class Lambdas {
+
+	private Lambdas() {
+	}
+
+	/**
+	 * Creates an implementation of the given functional interface that calls the given implementation handle.
+	 * The implementation is spun with {@link LambdaMetafactory} when possible, so that the JIT can inline through it.
+	 * If the metafactory can't be used (e.g. the implementation isn't accessible from a lookup with full privilege
+	 * access), falls back to {@link MethodHandleProxies#asInterfaceInstance(Class, MethodHandle)}.
+	 * @param iface The functional interface to implement
+	 * @param owner The class that declares the member the implementation handle refers to
+	 * @param impl The direct method handle to call
+	 * @param <I> The type of the functional interface
+	 * @return The implementation of the interface
+	 * @throws IllegalArgumentException If the given class isn't a functional interface or doesn't accept the same number of parameters as the handle
+	 */
+	static <I> I implement(Class<I> iface, Class<?> owner, MethodHandle impl) {
+		return spin(iface, owner, impl, false, null);
+	}
+
+	/**
+	 * Creates an implementation of the given functional interface that calls the given implementation handle with
+	 * the given receiver bound as its first argument.
+	 * @see #implement(Class, Class, MethodHandle)
+	 * @param iface The functional interface to implement
+	 * @param owner The class that declares the member the implementation handle refers to
+	 * @param impl The direct method handle to call
+	 * @param receiver The value to bind as the first argument of the handle
+	 * @param <I> The type of the functional interface
+	 * @return The implementation of the interface
+	 * @throws IllegalArgumentException If the given class isn't a functional interface or doesn't accept the same number of parameters as the bound handle
+	 */
+	static <I> I bind(Class<I> iface, Class<?> owner, MethodHandle impl, Object receiver) {
+		return spin(iface, owner, impl, true, receiver);
+	}
+
+	private static <I> I spin(Class<I> iface, Class<?> owner, MethodHandle impl, boolean bound, Object receiver) {
+		Method sam = findSingleAbstractMethod(iface);
+		MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+		MethodType implType = bound ? impl.type().dropParameterTypes(0, 1) : impl.type();
+		if (samType.parameterCount() != implType.parameterCount()) {
+			throw new IllegalArgumentException(iface.getName() + "." + sam.getName() + " takes " + samType.parameterCount() + " parameters, expected " + implType.parameterCount());
+		}
+		MethodType instantiatedType = instantiate(samType, implType);
+		MethodType invokedType = bound ? MethodType.methodType(iface, impl.type().parameterType(0)) : MethodType.methodType(iface);
+
+		for (MethodHandles.Lookup lookup : lookups(owner)) {
+			try {
+				CallSite site = LambdaMetafactory.metafactory(lookup, sam.getName(), invokedType, samType, impl, instantiatedType);
+				return iface.cast(bound ? site.getTarget().invoke(receiver) : site.getTarget().invoke());
+			} catch (LambdaConversionException | IllegalArgumentException ignored) {
+			} catch (Throwable t) {
+				throw new RuntimeException(t);
+			}
+		}
+
+		return MethodHandleProxies.asInterfaceInstance(iface, bound ? impl.bindTo(receiver) : impl);
+	}
+
+	/**
+	 * Finds the single abstract method of the given functional interface
+	 * @param iface The interface
+	 * @return The single abstract method
+	 * @throws IllegalArgumentException If the class isn't a functional interface
+	 */
+	static Method findSingleAbstractMethod(Class<?> iface) {
+		if (!iface.isInterface()) {
+			throw new IllegalArgumentException(iface.getName() + " is not an interface");
+		}
+		Method sam = null;
+		for (Method m : iface.getMethods()) {
+			if (!Modifier.isAbstract(m.getModifiers()) || isObjectMethod(m)) {
+				continue;
+			}
+			if (sam == null) {
+				sam = m;
+			} else if (sam.getName().equals(m.getName()) && Arrays.equals(sam.getParameterTypes(), m.getParameterTypes())) {
+				if (sam.getReturnType().isAssignableFrom(m.getReturnType())) {
+					sam = m;
+				}
+			} else {
+				throw new IllegalArgumentException(iface.getName() + " is not a functional interface");
+			}
+		}
+		if (sam == null) {
+			throw new IllegalArgumentException(iface.getName() + " is not a functional interface");
+		}
+		return sam;
+	}
+
+	private static boolean isObjectMethod(Method m) {
+		try {
+			return Modifier.isPublic(Object.class.getMethod(m.getName(), m.getParameterTypes()).getModifiers());
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Computes the most specific type that the implementation can be called with that is still compatible with the
+	 * erased single abstract method type
+	 */
+	private static MethodType instantiate(MethodType samType, MethodType implType) {
+		Class<?>[] params = new Class<?>[samType.parameterCount()];
+		for (int i = 0; i < params.length; i++) {
+			params[i] = specialize(samType.parameterType(i), implType.parameterType(i));
+		}
+		Class<?> returnType = samType.returnType() == void.class ? void.class : specialize(samType.returnType(), implType.returnType());
+		return MethodType.methodType(returnType, params);
+	}
+
+	private static Class<?> specialize(Class<?> samType, Class<?> implType) {
+		if (samType.isPrimitive() || implType == void.class) {
+			return samType;
+		}
+		Class<?> wrapped = MethodType.methodType(implType).wrap().returnType();
+		return samType.isAssignableFrom(wrapped) ? wrapped : samType;
+	}
+
+	/**
+	 * @return The lookups to try spinning the lambda with, the most privileged first
+	 */
+	private static MethodHandles.Lookup[] lookups(Class<?> owner) {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			return new MethodHandles.Lookup[]{MethodHandles.privateLookupIn(owner, lookup), lookup};
+		} catch (IllegalAccessException e) {
+			return new MethodHandles.Lookup[]{lookup};
+		}
+	}
+
+}
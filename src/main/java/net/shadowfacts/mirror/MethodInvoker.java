@@ -0,0 +1,22 @@
+package net.shadowfacts.mirror;
+
+/**
+ * A compiled invoker for a single method
+ *
+ * @author shadowfacts
+ *
+ * @see MirrorMethod#invoker(InvokerBackend)
+ */
+public interface MethodInvoker {
+
+	/**
+	 * Invokes the method on the given instance with the given arguments. Unlike {@link MirrorMethod#invoke(Object, Object...)},
+	 * exceptions thrown by the method are not wrapped
+	 * @param instance The instance to invoke on. Ignored if the method is static
+	 * @param args The arguments to pass to the method. Must have exactly as many elements as the method has parameters
+	 * @return The return value of the method, or {@code null} if it returns {@code void}
+	 * @throws Throwable Anything thrown by the method
+	 */
+	Object invoke(Object instance, Object[] args) throws Throwable;
+
+}
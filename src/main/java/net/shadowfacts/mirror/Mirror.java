@@ -3,16 +3,25 @@ package net.shadowfacts.mirror;
 import net.shadowfacts.mirror.scanner.Scanner;
 import net.shadowfacts.mirror.stream.FieldStream;
 import net.shadowfacts.mirror.stream.MethodStream;
+import net.shadowfacts.mirror.stream.ClassRefStream;
 import net.shadowfacts.mirror.stream.ClassStream;
+import net.shadowfacts.mirror.scanner.cls.ClassMetadata;
 import net.shadowfacts.mirror.scanner.cls.JarScanner;
 import net.shadowfacts.mirror.scanner.cls.PackageScanner;
 
 import java.io.File;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -23,13 +32,114 @@ import java.util.stream.Stream;
 public class Mirror {
 
 	/**
-	 * Creates a mirror of the given class
+	 * The interned mirror for each class. Stored with {@link ClassValue} so that a mirror doesn't keep its class (or
+	 * the class's loader) from being unloaded
+	 */
+	private static final ClassValue<MirrorClass<?>> classes = new ClassValue<MirrorClass<?>>() {
+		@Override
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		protected MirrorClass<?> computeValue(Class<?> type) {
+			return type.isEnum() ? new MirrorEnum(type) : new MirrorClass<>(type);
+		}
+	};
+
+	private static volatile int promotionThreshold = 15;
+
+	private static volatile boolean recordingPromotions = false;
+
+	private static final Set<String> promotedMembers = ConcurrentHashMap.newKeySet();
+
+	private static volatile InvokerBackend invokerBackend = InvokerBackend.METHOD_HANDLE;
+
+	/**
+	 * @return The backend used to compile invokers for promoted members and constructors
+	 * @see #setInvokerBackend(InvokerBackend)
+	 */
+	public static InvokerBackend getInvokerBackend() {
+		return invokerBackend;
+	}
+
+	/**
+	 * Sets the backend used to compile the invokers that {@link MirrorMethod}s, {@link MirrorField}s and
+	 * {@link MirrorConstructor}s switch to. Mirrors that already have a compiled invoker keep it.
+	 * A backend can also be chosen for a single call site with {@link MirrorMethod#invoker(InvokerBackend)},
+	 * {@link MirrorField#accessor(InvokerBackend)} and {@link MirrorConstructor#invoker(InvokerBackend)}.
+	 * Defaults to {@link InvokerBackend#METHOD_HANDLE}.
+	 * @param backend The backend
+	 */
+	public static void setInvokerBackend(InvokerBackend backend) {
+		invokerBackend = Objects.requireNonNull(backend);
+	}
+
+	/**
+	 * @return The number of reflective invocations after which a {@link MirrorMethod} or {@link MirrorField} is
+	 * promoted to a compiled invoker
+	 * @see #setPromotionThreshold(int)
+	 */
+	public static int getPromotionThreshold() {
+		return promotionThreshold;
+	}
+
+	/**
+	 * Sets the number of times {@link MirrorMethod#invoke(Object, Object...)} or {@link MirrorField#get(Object)} can be
+	 * called through plain reflection before the member is promoted to a compiled invoker.
+	 * Use {@code 0} to always use compiled invokers, and {@link Integer#MAX_VALUE} to never promote members.
+	 * Defaults to {@code 15}.
+	 * @param threshold The threshold
+	 */
+	public static void setPromotionThreshold(int threshold) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException("Promotion threshold must not be negative");
+		}
+		promotionThreshold = threshold;
+	}
+
+	/**
+	 * @return If promotions are recorded in {@link #promotedMembers()}
+	 * @see #setRecordingPromotions(boolean)
+	 */
+	public static boolean isRecordingPromotions() {
+		return recordingPromotions;
+	}
+
+	/**
+	 * Sets if the members that are promoted to compiled invokers should be recorded in {@link #promotedMembers()}.
+	 * Every promoted member stays in the record until it's disabled, so this is meant for diagnostics rather than
+	 * long-running applications. Disabling it clears the record.
+	 * Defaults to {@code false}.
+	 * @param recording If promotions should be recorded
+	 */
+	public static void setRecordingPromotions(boolean recording) {
+		recordingPromotions = recording;
+		if (!recording) {
+			promotedMembers.clear();
+		}
+	}
+
+	/**
+	 * @return The descriptions (as in {@link Member#toString()}) of all the members that have been promoted to
+	 * compiled invokers while {@link #setRecordingPromotions(boolean) recording} was enabled
+	 */
+	public static Set<String> promotedMembers() {
+		return Collections.unmodifiableSet(promotedMembers);
+	}
+
+	static void recordPromotion(Member member) {
+		if (recordingPromotions) {
+			promotedMembers.add(member.toString());
+		}
+	}
+
+	/**
+	 * Retrieves the mirror of the given class. Mirrors are interned, so the same instance is returned for every call
+	 * with the same class, and mirrors of {@code enum} classes are {@link MirrorEnum}s
 	 * @param clazz The class
 	 * @param <T> The type of the class
 	 * @return The mirror
 	 */
+	@SuppressWarnings("unchecked")
 	public static <T> MirrorClass<T> of(Class<T> clazz) {
-		return new MirrorClass<>(clazz);
+		return (MirrorClass<T>)classes.get(clazz);
 	}
 
 	/**
@@ -106,6 +216,17 @@ public class Mirror {
 		return ofAllUnwrapped(PackageScanner.instance, thePackage);
 	}
 
+	/**
+	 * Creates a stream of the {@link MirrorClass}es in the given package whose class file metadata passes the given
+	 * filter. Classes that don't pass the filter are never loaded
+	 * @param thePackage The package to search in
+	 * @param filter The filter
+	 * @return The stream of mirror classes
+	 */
+	public static ClassStream ofAllInPackage(String thePackage, Predicate<ClassMetadata> filter) {
+		return ofAllUnwrapped(PackageScanner.instance.scan(thePackage, filter));
+	}
+
 	/**
 	 * Creates a stream of all the {@link MirrorClass}es in the given jar to be loaded using the given class loader
 	 * @param jar The jar to search in
@@ -116,6 +237,18 @@ public class Mirror {
 		return ofAllUnwrapped(JarScanner.instance, new JarScanner.JarScannerOptions(jar, classLoader));
 	}
 
+	/**
+	 * Creates a stream of the {@link MirrorClass}es in the given jar whose class file metadata passes the given filter,
+	 * loaded using the given class loader. Classes that don't pass the filter are never loaded
+	 * @param jar The jar to search in
+	 * @param classLoader The class loader to use to load the classes
+	 * @param filter The filter
+	 * @return The stream of mirror classes
+	 */
+	public static ClassStream ofAllInJar(File jar, ClassLoader classLoader, Predicate<ClassMetadata> filter) {
+		return ofAllUnwrapped(JarScanner.instance, new JarScanner.JarScannerOptions(jar, classLoader, filter));
+	}
+
 	/**
 	 * Creates a stream of all the {@link MirrorClass}es in the given jar using the context class loader
 	 * @param jar THe jar to search in
@@ -126,13 +259,69 @@ public class Mirror {
 	}
 
 	/**
-	 * Creates a mirror of the given {@code enum} class
+	 * Creates a stream of all the {@link MirrorClass}es in the given jars to be loaded using the given class loader.
+	 * The jars are scanned in parallel
+	 * @param jars The jars to search in
+	 * @param classLoader The class loader to use to load the classes
+	 * @return The stream of mirror classes
+	 * @see JarScanner#scan(Collection, java.util.concurrent.ForkJoinPool)
+	 */
+	public static ClassStream ofAllInJars(Collection<File> jars, ClassLoader classLoader) {
+		return ofAllUnwrapped(JarScanner.instance.scan(jars.stream()
+				.map(jar -> new JarScanner.JarScannerOptions(jar, classLoader))
+				.collect(Collectors.toList())));
+	}
+
+	/**
+	 * Creates a stream of the {@link MirrorClass}es in all the jars on the class path whose class file metadata passes
+	 * the given filter, loaded using the context class loader. The jars are scanned in parallel
+	 * @param filter The filter, or {@code null} to load every class
+	 * @return The stream of mirror classes
+	 * @see JarScanner#classpath(ClassLoader, Predicate)
+	 */
+	public static ClassStream ofAllInClasspath(Predicate<ClassMetadata> filter) {
+		return ofAllUnwrapped(JarScanner.instance.scan(JarScanner.classpath(Thread.currentThread().getContextClassLoader(), filter)));
+	}
+
+	/**
+	 * Creates a stream of references to all the classes in the given package, without loading them
+	 * @param thePackage The package to search in
+	 * @return The stream of class references
+	 */
+	public static ClassRefStream ofAllRefsInPackage(String thePackage) {
+		return new ClassRefStream(PackageScanner.instance.scanRefs(thePackage).stream());
+	}
+
+	/**
+	 * Creates a stream of references to all the classes in the given jar, without loading them. The classes are loaded
+	 * using the given class loader by {@link ClassRefStream#load()}
+	 * @param jar The jar to search in
+	 * @param classLoader The class loader to use to load the classes
+	 * @return The stream of class references
+	 */
+	public static ClassRefStream ofAllRefsInJar(File jar, ClassLoader classLoader) {
+		return new ClassRefStream(JarScanner.instance.scanRefs(new JarScanner.JarScannerOptions(jar, classLoader)).stream());
+	}
+
+	/**
+	 * Creates a stream of references to all the classes in the given jar using the context class loader, without
+	 * loading them
+	 * @param jar The jar to search in
+	 * @return The stream of class references
+	 */
+	public static ClassRefStream ofAllRefsInJar(File jar) {
+		return ofAllRefsInJar(jar, Thread.currentThread().getContextClassLoader());
+	}
+
+	/**
+	 * Retrieves the mirror of the given {@code enum} class. This is the same instance as {@link #of(Class)} returns
 	 * @param clazz The enum class
 	 * @param <E> The type of the enum
 	 * @return The mirror of the enum class
 	 */
+	@SuppressWarnings("unchecked")
 	public static <E extends Enum<E>> MirrorEnum<E> ofEnum(Class<E> clazz) {
-		return new MirrorEnum<>(clazz);
+		return (MirrorEnum<E>)classes.get(clazz);
 	}
 
 	/**
@@ -4,8 +4,6 @@ import net.shadowfacts.mirror.stream.FieldStream;
 import net.shadowfacts.mirror.stream.MethodStream;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -18,8 +16,21 @@ public class MirrorClass<T> {
 
 	protected final Class<T> clazz;
 
+	/**
+	 * The cached member mirrors of this class
+	 */
+	final ClassMembers members;
+
+	private MirrorClass<?>[] interfaces;
+
+	/**
+	 * The cached annotations of this class, including inherited ones. Resolved lazily by {@link #annotations()}
+	 */
+	private Annotations annotations;
+
 	MirrorClass(Class<T> clazz) {
 		this.clazz = clazz;
+		this.members = new ClassMembers(clazz);
 	}
 
 	/**
@@ -47,13 +58,20 @@ public class MirrorClass<T> {
 	 * Retrieves the constructor for this class that takes the given types
 	 * @param types The types that the constructor accepts
 	 * @return The constructor
+	 * @throws RuntimeException If there is no public constructor that takes the given types
 	 */
 	public MirrorConstructor<T> constructor(Class<?>... types) {
-		try {
-			return Mirror.of(clazz.getConstructor(types));
-		} catch (NoSuchMethodException e) {
-			throw new RuntimeException(e);
-		}
+		return findConstructor(types).orElseThrow(() -> new RuntimeException(new NoSuchMethodException(clazz.getName() + ".<init>" + Arrays.toString(types))));
+	}
+
+	/**
+	 * Finds the public constructor for this class that takes the given types
+	 * @param types The types that the constructor accepts
+	 * @return The constructor
+	 */
+	@SuppressWarnings("unchecked")
+	public Optional<MirrorConstructor<T>> findConstructor(Class<?>... types) {
+		return Optional.ofNullable((MirrorConstructor<T>)members.constructor(types));
 	}
 
 	/**
@@ -62,7 +80,7 @@ public class MirrorClass<T> {
 	 * @return If the class has the annotation
 	 */
 	public boolean hasAnnotation(Class<? extends Annotation> clazz) {
-		return this.clazz.isAnnotationPresent(clazz);
+		return annotations().has(clazz);
 	}
 
 	/**
@@ -72,7 +90,41 @@ public class MirrorClass<T> {
 	 * @return The annotation on the class
 	 */
 	public <A extends Annotation> A getAnnotation(Class<A> clazz) {
-		return this.clazz.getAnnotation(clazz);
+		return annotations().get(clazz);
+	}
+
+	/**
+	 * Checks if this class has the given annotation directly, inside a {@link java.lang.annotation.Repeatable} container,
+	 * or as a meta-annotation (transitively) of one of its annotations. The {@code java.lang.annotation} types are not
+	 * treated as meta-annotations
+	 * @param clazz The annotation class
+	 * @return If this class has the annotation
+	 */
+	public boolean hasMetaAnnotation(Class<? extends Annotation> clazz) {
+		return annotations().merged().has(clazz);
+	}
+
+	/**
+	 * Finds the given annotation on this class, searching the same places as {@link #hasMetaAnnotation(Class)}. The
+	 * annotation nearest to this class is returned: direct annotations first, then the contents of repeatable containers,
+	 * then meta-annotations, breadth first
+	 * @param clazz The annotation class
+	 * @param <A> The type of the annotation
+	 * @return The annotation, or {@code null} if it wasn't found
+	 */
+	public <A extends Annotation> A findMergedAnnotation(Class<A> clazz) {
+		return annotations().merged().get(clazz);
+	}
+
+	/**
+	 * @return The cached annotation table of this class
+	 */
+	private Annotations annotations() {
+		Annotations annotations = this.annotations;
+		if (annotations == null) {
+			this.annotations = annotations = Annotations.of(clazz);
+		}
+		return annotations;
 	}
 
 	/**
@@ -140,36 +192,51 @@ public class MirrorClass<T> {
 	}
 
 	/**
-	 * @return The direct super-class of this class
+	 * @return The direct super-class of this class, or {@code null} if this class is {@link Object}, an interface,
+	 * or a primitive type
 	 */
 	public MirrorClass<? super T> getSuperClass() {
-		return Mirror.of(clazz.getSuperclass());
+		Class<? super T> superClass = clazz.getSuperclass();
+		return superClass == null ? null : Mirror.of(superClass);
 	}
 
 	/**
 	 * @return An array of the interfaces that this class implements
 	 */
 	public MirrorClass<?>[] getInterfaces() {
-		Class<?>[] interfaces = clazz.getInterfaces();
-		MirrorClass<?>[] mirrors = new MirrorClass<?>[interfaces.length];
-		for (int i = 0; i < interfaces.length; i++) {
-			mirrors[i] = Mirror.of(interfaces[i]);
+		MirrorClass<?>[] mirrors = interfaces;
+		if (mirrors == null) {
+			Class<?>[] interfaces = clazz.getInterfaces();
+			mirrors = new MirrorClass<?>[interfaces.length];
+			for (int i = 0; i < interfaces.length; i++) {
+				mirrors[i] = Mirror.of(interfaces[i]);
+			}
+			this.interfaces = mirrors;
 		}
-		return mirrors;
+		return mirrors.clone();
 	}
 
 	/**
 	 * @return A {@link FieldStream} of all the fields in this class
 	 */
 	public FieldStream fields() {
-		return new FieldStream(Arrays.stream(clazz.getFields()).map(MirrorField::new));
+		return new FieldStream(Arrays.stream(members.fields()));
 	}
 
 	/**
 	 * @return A {@link FieldStream} of all the declared fields in this class
 	 */
 	public FieldStream declaredFields() {
-		return new FieldStream(Arrays.stream(clazz.getDeclaredFields()).map(MirrorField::new));
+		return new FieldStream(Arrays.stream(members.declaredFields()));
+	}
+
+	/**
+	 * Retrieves every field declared by this class, its super-classes and the interfaces they implement, nearest first.
+	 * Fields hidden by a sub-class are included after the field that hides them. The result is cached per class
+	 * @return A {@link FieldStream} of all the fields in the hierarchy
+	 */
+	public FieldStream allFields() {
+		return new FieldStream(Arrays.stream(members.allFields()));
 	}
 
 	/**
@@ -179,10 +246,10 @@ public class MirrorClass<T> {
 	 */
 	public Optional<MirrorField> field(String... names) {
 		for (String s : names) {
-			try {
-				Field f = clazz.getField(s);
-				return Optional.of(Mirror.of(f));
-			} catch (NoSuchFieldException ignored) {}
+			MirrorField f = members.field(s);
+			if (f != null) {
+				return Optional.of(f);
+			}
 		}
 		return Optional.empty();
 	}
@@ -194,10 +261,10 @@ public class MirrorClass<T> {
 	 */
 	public Optional<MirrorField> declaredField(String... names) {
 		for (String s : names) {
-			try {
-				Field f = clazz.getDeclaredField(s);
-				return Optional.of(Mirror.of(f));
-			} catch (NoSuchFieldException ignored) {}
+			MirrorField f = members.declaredField(s);
+			if (f != null) {
+				return Optional.of(f);
+			}
 		}
 		return Optional.empty();
 	}
@@ -206,14 +273,62 @@ public class MirrorClass<T> {
 	 * @return A stream of all methods in the class
 	 */
 	public MethodStream methods() {
-		return new MethodStream(Arrays.stream(clazz.getMethods()).map(MirrorMethod::new));
+		return new MethodStream(Arrays.stream(members.methods()));
 	}
 
 	/**
 	 * @return A stream of all the declared methods in the class
 	 */
 	public MethodStream declaredMethods() {
-		return new MethodStream(Arrays.stream(clazz.getDeclaredMethods()).map(MirrorMethod::new));
+		return new MethodStream(Arrays.stream(members.declaredMethods()));
+	}
+
+	/**
+	 * Retrieves every method declared by this class, its super-classes and the interfaces they implement, nearest
+	 * first, leaving out methods that are overridden or hidden by a nearer one and static interface methods of
+	 * super-types. The result is cached per class
+	 * @return A stream of all the methods in the hierarchy
+	 */
+	public MethodStream allMethods() {
+		return new MethodStream(Arrays.stream(members.allMethods()));
+	}
+
+	/**
+	 * Retrieves the most specific implementation of each method signature in this class' hierarchy, as the JVM would
+	 * dispatch to it, without bridge and synthetic methods. The result is cached per class
+	 * @return A stream of the resolved methods
+	 */
+	public MethodStream resolvedMethods() {
+		return new MethodStream(Arrays.stream(members.overrides().implementations()));
+	}
+
+	/**
+	 * Finds the most specific implementation of the method with the given name and parameter types in this class'
+	 * hierarchy. The signature of a bridge method resolves to the method it bridges to
+	 * @param name The name of the method
+	 * @param args The arguments the method accepts
+	 * @return The method
+	 */
+	public Optional<MirrorMethod> resolvedMethod(String name, Class<?>... args) {
+		return Optional.ofNullable(members.overrides().implementation(name, args));
+	}
+
+	/**
+	 * Checks if the given method is the most specific implementation of its signature in this class' hierarchy
+	 * @param method The method
+	 * @return If the method is one of the {@link #resolvedMethods()}
+	 */
+	public boolean isImplementation(MirrorMethod method) {
+		return members.overrides().isImplementation(method);
+	}
+
+	/**
+	 * Retrieves the methods in this class' hierarchy that the given implementation overrides
+	 * @param method The implementation, one of the {@link #resolvedMethods()}
+	 * @return A stream of the overridden methods, nearest first, which is empty if the method isn't an implementation
+	 */
+	public MethodStream overriddenMethods(MirrorMethod method) {
+		return new MethodStream(Arrays.stream(members.overrides().overridden(method)));
 	}
 
 	/**
@@ -224,10 +339,10 @@ public class MirrorClass<T> {
 	 */
 	public Optional<MirrorMethod> method(String[] names, Class<?>... args) {
 		for (String s : names) {
-			try {
-				Method m = clazz.getMethod(s, args);
-				return Optional.of(Mirror.of(m));
-			} catch (NoSuchMethodException ignored) {}
+			MirrorMethod m = members.method(s, args);
+			if (m != null) {
+				return Optional.of(m);
+			}
 		}
 		return Optional.empty();
 	}
@@ -250,10 +365,10 @@ public class MirrorClass<T> {
 	 */
 	public Optional<MirrorMethod> declaredMethod(String[] names, Class<?>... args) {
 		for (String s : names) {
-			try {
-				Method m = clazz.getDeclaredMethod(s, args);
-				return Optional.of(Mirror.of(m));
-			} catch (NoSuchMethodException ignored) {}
+			MirrorMethod m = members.declaredMethod(s, args);
+			if (m != null) {
+				return Optional.of(m);
+			}
 		}
 		return Optional.empty();
 	}
@@ -1,8 +1,15 @@
 package net.shadowfacts.mirror;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * A mirror constructor
@@ -13,10 +20,25 @@ import java.util.Arrays;
  */
 public class MirrorConstructor<T> {
 
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
 	private Constructor<T> constructor;
 
+	private final Class<?>[] parameterTypes;
+
+	/**
+	 * The cached invoker for this constructor. Compiled lazily by {@link #invoker()}
+	 */
+	private ConstructorInvoker invoker;
+
+	/**
+	 * The cached factories created by {@link #asFactory(Class)}, keyed by functional interface
+	 */
+	private Map<Class<?>, Object> factories;
+
 	MirrorConstructor(Constructor<T> constructor) {
 		this.constructor = constructor;
+		this.parameterTypes = constructor.getParameterTypes();
 	}
 
 	/**
@@ -30,7 +52,7 @@ public class MirrorConstructor<T> {
 	 * @return An array of the types this constructor accepts
 	 */
 	public MirrorClass<?>[] parameterTypes() {
-		return Mirror.ofAllUnwrapped(constructor.getParameterTypes()).toArray(MirrorClass<?>[]::new);
+		return Mirror.ofAllUnwrapped(parameterTypes).toArray(MirrorClass<?>[]::new);
 	}
 
 	/**
@@ -38,21 +60,116 @@ public class MirrorConstructor<T> {
 	 * @param args The arguments to invoke the constructor with
 	 * @return The new instance
 	 */
+	@SuppressWarnings("unchecked")
 	public T invoke(Object... args) {
-		Class<?>[] parameterTypes = constructor.getParameterTypes();
-		if (args.length != parameterTypes.length) {
-			throw new IllegalArgumentException("Wrong number of arguments");
+		if (args == null) {
+			args = new Object[0];
+		}
+		Conversions.checkArguments(parameterTypes, args);
+		ConstructorInvoker invoker = invoker();
+		try {
+			return (T)invoker.newInstance(args);
+		} catch (Throwable t) {
+			throw new RuntimeException(new InvocationTargetException(t));
 		}
-		for (int i = 0; i < parameterTypes.length; i++) {
-			if (!parameterTypes[i].isAssignableFrom(args[i].getClass())) {
-				throw new IllegalArgumentException("Argument " + i + " was of wrong type. Expected " + parameterTypes[i].getName() + " got " + args[i].getClass().getName());
+	}
+
+	/**
+	 * Creates a {@link Supplier} that invokes this no-argument constructor
+	 * @see #asFactory(Class)
+	 * @return The supplier
+	 */
+	@SuppressWarnings("unchecked")
+	public Supplier<T> asSupplier() {
+		return asFactory(Supplier.class);
+	}
+
+	/**
+	 * Creates a {@link Function} that invokes this single-argument constructor
+	 * @see #asFactory(Class)
+	 * @param <A> The type of the argument
+	 * @return The function
+	 */
+	@SuppressWarnings("unchecked")
+	public <A> Function<A, T> asFunction() {
+		return asFactory(Function.class);
+	}
+
+	/**
+	 * Creates a {@link BiFunction} that invokes this two-argument constructor
+	 * @see #asFactory(Class)
+	 * @param <A> The type of the first argument
+	 * @param <B> The type of the second argument
+	 * @return The function
+	 */
+	@SuppressWarnings("unchecked")
+	public <A, B> BiFunction<A, B, T> asBiFunction() {
+		return asFactory(BiFunction.class);
+	}
+
+	/**
+	 * Creates an implementation of the given functional interface that invokes this constructor directly, without
+	 * an arguments array or reflective dispatch. The implementation is spun with {@link java.lang.invoke.LambdaMetafactory}
+	 * so the JIT can inline the construction at the call site. Factories are created once per interface and cached.
+	 * @param functionalInterface The functional interface to implement. Its single abstract method must accept the
+	 *                            same number of parameters as this constructor
+	 * @param <I> The type of the functional interface
+	 * @return The implementation of the interface
+	 * @throws IllegalArgumentException If the given class isn't a functional interface or its method doesn't take the
+	 *                                  same number of parameters as this constructor
+	 */
+	public <I> I asFactory(Class<I> functionalInterface) {
+		Map<Class<?>, Object> factories = this.factories;
+		if (factories == null) {
+			factories = new ConcurrentHashMap<>();
+			this.factories = factories;
+		}
+		return functionalInterface.cast(factories.computeIfAbsent(functionalInterface, iface -> {
+			MethodHandle handle;
+			try {
+				handle = MethodHandles.lookup().unreflectConstructor(constructor);
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException(e);
+			}
+			return Lambdas.implement(iface, constructor.getDeclaringClass(), handle);
+		}));
+	}
+
+	/**
+	 * Compiles a new invoker for this constructor using the given backend. Each call compiles a new invoker, so callers
+	 * should hold on to the result.
+	 * @param backend The backend to compile the invoker with
+	 * @return The invoker
+	 */
+	public ConstructorInvoker invoker(InvokerBackend backend) {
+		if (backend == InvokerBackend.HIDDEN_CLASS && HiddenClasses.canAccess(constructor)) {
+			ConstructorInvoker invoker = HiddenClasses.constructorInvoker(constructor);
+			if (invoker != null) {
+				return invoker;
 			}
 		}
+		MethodHandle handle;
 		try {
-			return constructor.newInstance(args);
-		} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+			handle = MethodHandles.lookup().unreflectConstructor(constructor).asFixedArity();
+		} catch (IllegalAccessException e) {
 			throw new RuntimeException(e);
 		}
+		MethodHandle spreader = handle.asSpreader(Object[].class, parameterTypes.length).asType(INVOKER_TYPE);
+		return args -> spreader.invokeExact(args);
+	}
+
+	/**
+	 * Retrieves the cached invoker for this constructor, compiling it with {@link Mirror#getInvokerBackend()} the
+	 * first time it is needed
+	 * @return The invoker
+	 */
+	private ConstructorInvoker invoker() {
+		ConstructorInvoker invoker = this.invoker;
+		if (invoker == null) {
+			invoker = invoker(Mirror.getInvokerBackend());
+			this.invoker = invoker;
+		}
+		return invoker;
 	}
 
 	@Override
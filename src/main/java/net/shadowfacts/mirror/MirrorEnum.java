@@ -1,5 +1,11 @@
 package net.shadowfacts.mirror;
 
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * A mirror enum
  *
@@ -9,15 +15,147 @@ package net.shadowfacts.mirror;
  */
 public class MirrorEnum<E extends Enum<E>> extends MirrorClass<E> {
 
+	/**
+	 * The cached enum constants, indexed by ordinal. Never exposed, see {@link #values()}
+	 */
+	private E[] constants;
+
+	/**
+	 * The cached enum constants, keyed by name. Built lazily by {@link #valueOf(String)}
+	 */
+	private Map<String, E> byName;
+
 	MirrorEnum(Class<E> clazz) {
 		super(clazz);
 	}
 
+	private E[] constants() {
+		E[] constants = this.constants;
+		if (constants == null) {
+			this.constants = constants = clazz.getEnumConstants();
+		}
+		return constants;
+	}
+
 	/**
 	 * @return All the enum values of the class
 	 */
 	public E[] values() {
-		return clazz.getEnumConstants();
+		return constants().clone();
+	}
+
+	/**
+	 * @return The number of enum values of the class
+	 */
+	public int size() {
+		return constants().length;
+	}
+
+	/**
+	 * Retrieves the enum value with the given name
+	 * @param name The name of the value
+	 * @return The value, or an empty optional if there is no value with the given name
+	 */
+	public Optional<E> valueOf(String name) {
+		Map<String, E> byName = this.byName;
+		if (byName == null) {
+			E[] constants = constants();
+			byName = new HashMap<>(constants.length * 2);
+			for (E e : constants) {
+				byName.put(e.name(), e);
+			}
+			this.byName = byName;
+		}
+		return Optional.ofNullable(byName.get(name));
+	}
+
+	/**
+	 * Retrieves the enum value with the given ordinal
+	 * @param ordinal The ordinal of the value
+	 * @return The value
+	 * @throws IllegalArgumentException If there is no value with the given ordinal
+	 */
+	public E byOrdinal(int ordinal) {
+		E[] constants = constants();
+		if (ordinal < 0 || ordinal >= constants.length) {
+			throw new IllegalArgumentException("No " + clazz.getName() + " with ordinal " + ordinal);
+		}
+		return constants[ordinal];
+	}
+
+	/**
+	 * Packs the given set of enum values into a bitmask, with bit {@code n} set if the value with ordinal {@code n} is
+	 * in the set
+	 * @param values The enum values
+	 * @return The bitmask
+	 * @throws IllegalArgumentException If the enum has more than 64 values
+	 */
+	public long toBits(Set<E> values) {
+		if (constants().length > Long.SIZE) {
+			throw new IllegalArgumentException(clazz.getName() + " has more than " + Long.SIZE + " values, use toBitArray");
+		}
+		long bits = 0;
+		for (E e : values) {
+			bits |= 1L << e.ordinal();
+		}
+		return bits;
+	}
+
+	/**
+	 * Packs the given set of enum values into a bitmask of any length, with bit {@code n % 64} of word {@code n / 64}
+	 * set if the value with ordinal {@code n} is in the set
+	 * @param values The enum values
+	 * @return The bitmask
+	 */
+	public long[] toBitArray(Set<E> values) {
+		long[] bits = new long[(constants().length + Long.SIZE - 1) / Long.SIZE];
+		for (E e : values) {
+			int ordinal = e.ordinal();
+			bits[ordinal / Long.SIZE] |= 1L << ordinal;
+		}
+		return bits;
+	}
+
+	/**
+	 * Unpacks a bitmask created by {@link #toBits(Set)}
+	 * @param bits The bitmask
+	 * @return The set of enum values
+	 * @throws IllegalArgumentException If a bit is set that doesn't correspond to an enum value
+	 */
+	public EnumSet<E> fromBits(long bits) {
+		return fromBits(new long[]{bits});
+	}
+
+	/**
+	 * Unpacks a bitmask created by {@link #toBitArray(Set)}
+	 * @param bits The bitmask
+	 * @return The set of enum values
+	 * @throws IllegalArgumentException If a bit is set that doesn't correspond to an enum value
+	 */
+	public EnumSet<E> fromBits(long[] bits) {
+		E[] constants = constants();
+		EnumSet<E> set = EnumSet.noneOf(clazz);
+		for (int word = 0; word < bits.length; word++) {
+			long remaining = bits[word];
+			while (remaining != 0) {
+				int ordinal = word * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+				if (ordinal >= constants.length) {
+					throw new IllegalArgumentException("No " + clazz.getName() + " with ordinal " + ordinal);
+				}
+				set.add(constants[ordinal]);
+				remaining &= remaining - 1;
+			}
+		}
+		return set;
+	}
+
+	/**
+	 * Creates an empty map from the values of this enum, stored densely by ordinal
+	 * @param <V> The type of the mapped values
+	 * @return The map
+	 */
+	public <V> OrdinalMap<E, V> newOrdinalMap() {
+		return new OrdinalMap<>(constants());
 	}
 
 	/**
@@ -27,7 +165,7 @@ public class MirrorEnum<E extends Enum<E>> extends MirrorClass<E> {
 	 */
 	public E next(E current) {
 		int currentId = current.ordinal();
-		E[] values = values();
+		E[] values = constants();
 		int next = currentId + 1;
 		if (next >= values.length) next = 0;
 		return values[next];
@@ -40,7 +178,7 @@ public class MirrorEnum<E extends Enum<E>> extends MirrorClass<E> {
 	 */
 	public E previous(E current) {
 		int currentId = current.ordinal();
-		E[] values = values();
+		E[] values = constants();
 		int prev = currentId - 1;
 		if (prev < 0) prev = values.length - 1;
 		return values[prev];
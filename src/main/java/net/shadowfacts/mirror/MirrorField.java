@@ -1,8 +1,15 @@
 package net.shadowfacts.mirror;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * A mirror field
@@ -11,10 +18,80 @@ import java.lang.reflect.Modifier;
  */
 public class MirrorField {
 
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final int INT = 0;
+	private static final int LONG = 1;
+	private static final int DOUBLE = 2;
+	private static final int BOOLEAN = 3;
+	private static final Class<?>[] PRIMITIVES = {int.class, long.class, double.class, boolean.class};
+
 	private Field field;
 
+	private MethodHandle rawGetter;
+	private MethodHandle rawSetter;
+
+	/**
+	 * The number of reflective accesses through {@link #get(Object)} and {@link #set(Object, Object)}. Stops counting
+	 * once the threshold is reached. Not synchronized, so concurrent accesses may be missed; it only decides when to
+	 * promote
+	 */
+	private int accesses;
+
+	/**
+	 * The cached getter handle, of type {@code (Object)Object}. Resolved lazily by {@link #getterHandle()}
+	 */
+	private MethodHandle getterHandle;
+	/**
+	 * The cached setter handle, of type {@code (Object, Object)void}. Resolved lazily by {@link #setterHandle()}
+	 */
+	private MethodHandle setterHandle;
+
+	/**
+	 * The cached primitive getter and setter handles, indexed by {@link #INT}, {@link #LONG}, {@link #DOUBLE} and {@link #BOOLEAN}
+	 */
+	private MethodHandle[] primitiveGetters;
+	private MethodHandle[] primitiveSetters;
+
+	/**
+	 * The compiled accessor for this field. {@code null} until this field has been accessed more than
+	 * {@link Mirror#getPromotionThreshold()} times, see {@link #promote()}
+	 */
+	private volatile FieldAccessor accessor;
+
+	/**
+	 * The cached {@link VarHandle} used for the volatile, acquire/release and atomic accessors. Resolved lazily by {@link #varHandle()}
+	 */
+	private VarHandle varHandle;
+
+	private Function<Object, Object> getter;
+	private BiConsumer<Object, Object> setter;
+
+	/**
+	 * The cached annotations of this field. Resolved lazily by {@link #annotations()}
+	 */
+	private Annotations annotations;
+
+	/**
+	 * If this is the interned mirror that {@link MirrorClass} hands out to every caller. The accessible flag of a shared
+	 * mirror is never changed, see {@link #setAccessible(boolean)}
+	 */
+	private final boolean shared;
+
+	/**
+	 * The interned mirror this mirror was copied from, which holds the shared annotation table. {@code null} if this
+	 * mirror wasn't copied
+	 */
+	private MirrorField interned;
+
 	MirrorField(Field field) {
+		this(field, false);
+	}
+
+	MirrorField(Field field, boolean shared) {
 		this.field = field;
+		this.shared = shared;
 	}
 
 	/**
@@ -39,42 +116,850 @@ public class MirrorField {
 	}
 
 	/**
-	 * Sets this field to be accessible
+	 * Sets this field to be accessible. The mirrors returned by {@link MirrorClass} are shared between all callers, so
+	 * for those the flag is set on a private copy of this mirror, which is returned instead
 	 * @param accessible
-	 * @return This field
+	 * @return This field, or the private copy if this field is shared
 	 */
 	public MirrorField setAccessible(boolean accessible) {
+		if (shared) {
+			Field copy;
+			try {
+				copy = field.getDeclaringClass().getDeclaredField(field.getName());
+			} catch (NoSuchFieldException e) {
+				throw new RuntimeException(e);
+			}
+			MirrorField mirror = new MirrorField(copy);
+			mirror.interned = this;
+			return mirror.setAccessible(accessible);
+		}
 		field.setAccessible(accessible);
+		rawGetter = null;
+		rawSetter = null;
+		getterHandle = null;
+		setterHandle = null;
+		primitiveGetters = null;
+		primitiveSetters = null;
+		varHandle = null;
+		accessor = null;
+		accesses = 0;
+		getter = null;
+		setter = null;
 		return this;
 	}
 
 	/**
-	 * Retrieves the value of this field for the given instance
+	 * Retrieves the value of this field for the given instance.
+	 * The first {@link Mirror#getPromotionThreshold()} accesses go through {@link Field#get(Object)}, after that this
+	 * field is promoted to a compiled accessor. The instance is checked up front, so both throw the same exceptions.
 	 * @see Field#get(Object)
-	 * @param instance The instance for which to retrieve the field
+	 * @param instance The instance for which to retrieve the field, ignored if the field is static
 	 * @return The value of the field
+	 * @throws NullPointerException If the field isn't static and the instance is {@code null}
+	 * @throws IllegalArgumentException If the instance isn't an instance of the declaring class
 	 */
 	public Object get(Object instance) {
-		try {
-			return field.get(instance);
-		} catch (ReflectiveOperationException e) {
-			throw new RuntimeException(e);
+		checkInstance(instance);
+		FieldAccessor accessor = this.accessor;
+		if (accessor == null) {
+			if (accesses < Mirror.getPromotionThreshold()) {
+				accesses++;
+				try {
+					return field.get(instance);
+				} catch (ReflectiveOperationException e) {
+					throw new RuntimeException(e);
+				}
+			}
+			accessor = promote();
 		}
+		return get(accessor, instance);
 	}
 
 	/**
-	 * Sets the value of this field on the given instance
-	 * @param instance The instance for which to set the field
+	 * Sets the value of this field on the given instance. Promoted the same way as {@link #get(Object)}
+	 * @param instance The instance for which to set the field, ignored if the field is static
 	 * @param value The new value of the field
+	 * @throws NullPointerException If the field isn't static and the instance is {@code null}
+	 * @throws IllegalArgumentException If the instance isn't an instance of the declaring class, or the value can't
+	 *                                  be converted to the type of the field
 	 */
 	public void set(Object instance, Object value) {
+		checkInstance(instance);
+		checkValue(value);
+		FieldAccessor accessor = this.accessor;
+		if (accessor == null) {
+			if (accesses < Mirror.getPromotionThreshold()) {
+				accesses++;
+				try {
+					field.set(instance, value);
+				} catch (ReflectiveOperationException e) {
+					throw new RuntimeException(e);
+				}
+				return;
+			}
+			accessor = promote();
+		}
+		set(accessor, instance, value);
+	}
+
+	/**
+	 * @return If this field has been accessed often enough through {@link #get(Object)}/{@link #set(Object, Object)}
+	 * to be promoted to compiled accessors
+	 * @see Mirror#setPromotionThreshold(int)
+	 */
+	public boolean isPromoted() {
+		return accessor != null;
+	}
+
+	/**
+	 * @return The number of times this field was accessed through reflection before it was promoted
+	 */
+	public int accessCount() {
+		return accesses;
+	}
+
+	/**
+	 * Retrieves the value of this {@code int} field (or a field of a type that widens to {@code int}) without boxing
+	 * @see Field#getInt(Object)
+	 * @param instance The instance for which to retrieve the field. Use {@code null} if the field is static
+	 * @return The value of the field
+	 */
+	public int getInt(Object instance) {
+		checkInstance(instance);
+		try {
+			return (int)primitiveGetter(INT).invokeExact(instance);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Retrieves the value of this {@code long} field (or a field of a type that widens to {@code long}) without boxing
+	 * @see Field#getLong(Object)
+	 * @param instance The instance for which to retrieve the field. Use {@code null} if the field is static
+	 * @return The value of the field
+	 */
+	public long getLong(Object instance) {
+		checkInstance(instance);
+		try {
+			return (long)primitiveGetter(LONG).invokeExact(instance);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Retrieves the value of this {@code double} field (or a field of a type that widens to {@code double}) without boxing
+	 * @see Field#getDouble(Object)
+	 * @param instance The instance for which to retrieve the field. Use {@code null} if the field is static
+	 * @return The value of the field
+	 */
+	public double getDouble(Object instance) {
+		checkInstance(instance);
+		try {
+			return (double)primitiveGetter(DOUBLE).invokeExact(instance);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Retrieves the value of this {@code boolean} field without boxing
+	 * @see Field#getBoolean(Object)
+	 * @param instance The instance for which to retrieve the field. Use {@code null} if the field is static
+	 * @return The value of the field
+	 */
+	public boolean getBoolean(Object instance) {
+		checkInstance(instance);
+		try {
+			return (boolean)primitiveGetter(BOOLEAN).invokeExact(instance);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Sets the value of this {@code int} field (or a field of a type {@code int} widens to) without boxing
+	 * @see Field#setInt(Object, int)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 */
+	public void setInt(Object instance, int value) {
+		checkInstance(instance);
+		try {
+			primitiveSetter(INT).invokeExact(instance, value);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Sets the value of this {@code long} field (or a field of a type {@code long} widens to) without boxing
+	 * @see Field#setLong(Object, long)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 */
+	public void setLong(Object instance, long value) {
+		checkInstance(instance);
 		try {
-			field.set(instance, value);
-		} catch (ReflectiveOperationException e) {
-			throw new RuntimeException(e);
+			primitiveSetter(LONG).invokeExact(instance, value);
+		} catch (Throwable t) {
+			throw rethrow(t);
 		}
 	}
 
+	/**
+	 * Sets the value of this {@code double} field without boxing
+	 * @see Field#setDouble(Object, double)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 */
+	public void setDouble(Object instance, double value) {
+		checkInstance(instance);
+		try {
+			primitiveSetter(DOUBLE).invokeExact(instance, value);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Sets the value of this {@code boolean} field without boxing
+	 * @see Field#setBoolean(Object, boolean)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 */
+	public void setBoolean(Object instance, boolean value) {
+		checkInstance(instance);
+		try {
+			primitiveSetter(BOOLEAN).invokeExact(instance, value);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Retrieves a function that reads the value of this field from the instance it's applied to. The function is
+	 * created once and cached, so it can be held on to and called from hot code.
+	 * Use {@code null} as the instance if the field is static.
+	 * @return The getter function
+	 */
+	public Function<Object, Object> getter() {
+		Function<Object, Object> getter = this.getter;
+		if (getter == null) {
+			FieldAccessor accessor = compiledAccessor();
+			getter = instance -> {
+				checkInstance(instance);
+				return get(accessor, instance);
+			};
+			this.getter = getter;
+		}
+		return getter;
+	}
+
+	/**
+	 * Retrieves a consumer that sets the value of this field on the given instance. The consumer is created once and
+	 * cached, so it can be held on to and called from hot code.
+	 * Use {@code null} as the instance if the field is static.
+	 * @return The setter consumer
+	 */
+	public BiConsumer<Object, Object> setter() {
+		BiConsumer<Object, Object> setter = this.setter;
+		if (setter == null) {
+			FieldAccessor accessor = compiledAccessor();
+			setter = (instance, value) -> {
+				checkInstance(instance);
+				checkValue(value);
+				set(accessor, instance, value);
+			};
+			this.setter = setter;
+		}
+		return setter;
+	}
+
+	/**
+	 * Retrieves the value of this field for the given instance with volatile memory semantics
+	 * @see VarHandle#getVolatile(Object...)
+	 * @param instance The instance for which to retrieve the field. Use {@code null} if the field is static
+	 * @return The value of the field
+	 */
+	public Object getVolatile(Object instance) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? handle.getVolatile() : handle.getVolatile(instance);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Retrieves the value of this {@code int} field for the given instance with volatile memory semantics
+	 * @see VarHandle#getVolatile(Object...)
+	 * @param instance The instance for which to retrieve the field. Use {@code null} if the field is static
+	 * @return The value of the field
+	 */
+	public int getIntVolatile(Object instance) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? (int)handle.getVolatile() : (int)handle.getVolatile(instance);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Retrieves the value of this {@code long} field for the given instance with volatile memory semantics
+	 * @see VarHandle#getVolatile(Object...)
+	 * @param instance The instance for which to retrieve the field. Use {@code null} if the field is static
+	 * @return The value of the field
+	 */
+	public long getLongVolatile(Object instance) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? (long)handle.getVolatile() : (long)handle.getVolatile(instance);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Retrieves the value of this field for the given instance with acquire memory semantics
+	 * @see VarHandle#getAcquire(Object...)
+	 * @param instance The instance for which to retrieve the field. Use {@code null} if the field is static
+	 * @return The value of the field
+	 */
+	public Object getAcquire(Object instance) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? handle.getAcquire() : handle.getAcquire(instance);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Retrieves the value of this {@code int} field for the given instance with acquire memory semantics
+	 * @see VarHandle#getAcquire(Object...)
+	 * @param instance The instance for which to retrieve the field. Use {@code null} if the field is static
+	 * @return The value of the field
+	 */
+	public int getIntAcquire(Object instance) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? (int)handle.getAcquire() : (int)handle.getAcquire(instance);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Retrieves the value of this {@code long} field for the given instance with acquire memory semantics
+	 * @see VarHandle#getAcquire(Object...)
+	 * @param instance The instance for which to retrieve the field. Use {@code null} if the field is static
+	 * @return The value of the field
+	 */
+	public long getLongAcquire(Object instance) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? (long)handle.getAcquire() : (long)handle.getAcquire(instance);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Sets the value of this field on the given instance with volatile memory semantics
+	 * @see VarHandle#setVolatile(Object...)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 */
+	public void setVolatile(Object instance, Object value) {
+		VarHandle handle = varHandle();
+		try {
+			if (isStatic()) {
+				handle.setVolatile(value);
+			} else {
+				handle.setVolatile(instance, value);
+			}
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Sets the value of this field on the given instance with volatile memory semantics
+	 * @see VarHandle#setVolatile(Object...)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 */
+	public void setVolatile(Object instance, int value) {
+		VarHandle handle = varHandle();
+		try {
+			if (isStatic()) {
+				handle.setVolatile(value);
+			} else {
+				handle.setVolatile(instance, value);
+			}
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Sets the value of this field on the given instance with volatile memory semantics
+	 * @see VarHandle#setVolatile(Object...)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 */
+	public void setVolatile(Object instance, long value) {
+		VarHandle handle = varHandle();
+		try {
+			if (isStatic()) {
+				handle.setVolatile(value);
+			} else {
+				handle.setVolatile(instance, value);
+			}
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Sets the value of this field on the given instance with release memory semantics
+	 * @see VarHandle#setRelease(Object...)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 */
+	public void setRelease(Object instance, Object value) {
+		VarHandle handle = varHandle();
+		try {
+			if (isStatic()) {
+				handle.setRelease(value);
+			} else {
+				handle.setRelease(instance, value);
+			}
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Sets the value of this field on the given instance with release memory semantics
+	 * @see VarHandle#setRelease(Object...)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 */
+	public void setRelease(Object instance, int value) {
+		VarHandle handle = varHandle();
+		try {
+			if (isStatic()) {
+				handle.setRelease(value);
+			} else {
+				handle.setRelease(instance, value);
+			}
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Sets the value of this field on the given instance with release memory semantics
+	 * @see VarHandle#setRelease(Object...)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 */
+	public void setRelease(Object instance, long value) {
+		VarHandle handle = varHandle();
+		try {
+			if (isStatic()) {
+				handle.setRelease(value);
+			} else {
+				handle.setRelease(instance, value);
+			}
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Atomically sets the value of this field on the given instance to {@code newValue} if the current value is {@code expected}
+	 * @see VarHandle#compareAndSet(Object...)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param expected The expected current value of the field
+	 * @param newValue The new value of the field
+	 * @return If the value was set
+	 */
+	public boolean compareAndSet(Object instance, Object expected, Object newValue) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? handle.compareAndSet(expected, newValue) : handle.compareAndSet(instance, expected, newValue);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Atomically sets the value of this field on the given instance to {@code newValue} if the current value is {@code expected}
+	 * @see VarHandle#compareAndSet(Object...)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param expected The expected current value of the field
+	 * @param newValue The new value of the field
+	 * @return If the value was set
+	 */
+	public boolean compareAndSet(Object instance, int expected, int newValue) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? handle.compareAndSet(expected, newValue) : handle.compareAndSet(instance, expected, newValue);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Atomically sets the value of this field on the given instance to {@code newValue} if the current value is {@code expected}
+	 * @see VarHandle#compareAndSet(Object...)
+	 * @param instance The instance for which to set the field. Use {@code null} if the field is static
+	 * @param expected The expected current value of the field
+	 * @param newValue The new value of the field
+	 * @return If the value was set
+	 */
+	public boolean compareAndSet(Object instance, long expected, long newValue) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? handle.compareAndSet(expected, newValue) : handle.compareAndSet(instance, expected, newValue);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Atomically sets the value of this field on the given instance and returns the previous value
+	 * @see VarHandle#getAndSet(Object...)
+	 * @param instance The instance for which to update the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 * @return The previous value of the field
+	 */
+	public Object getAndSet(Object instance, Object value) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? handle.getAndSet(value) : handle.getAndSet(instance, value);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Atomically sets the value of this field on the given instance and returns the previous value
+	 * @see VarHandle#getAndSet(Object...)
+	 * @param instance The instance for which to update the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 * @return The previous value of the field
+	 */
+	public int getAndSet(Object instance, int value) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? (int)handle.getAndSet(value) : (int)handle.getAndSet(instance, value);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Atomically sets the value of this field on the given instance and returns the previous value
+	 * @see VarHandle#getAndSet(Object...)
+	 * @param instance The instance for which to update the field. Use {@code null} if the field is static
+	 * @param value The new value of the field
+	 * @return The previous value of the field
+	 */
+	public long getAndSet(Object instance, long value) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? (long)handle.getAndSet(value) : (long)handle.getAndSet(instance, value);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Atomically adds to the value of this field on the given instance and returns the previous value
+	 * @see VarHandle#getAndAdd(Object...)
+	 * @param instance The instance for which to update the field. Use {@code null} if the field is static
+	 * @param delta The amount to add to the field
+	 * @return The previous value of the field
+	 */
+	public int getAndAdd(Object instance, int delta) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? (int)handle.getAndAdd(delta) : (int)handle.getAndAdd(instance, delta);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/**
+	 * Atomically adds to the value of this field on the given instance and returns the previous value
+	 * @see VarHandle#getAndAdd(Object...)
+	 * @param instance The instance for which to update the field. Use {@code null} if the field is static
+	 * @param delta The amount to add to the field
+	 * @return The previous value of the field
+	 */
+	public long getAndAdd(Object instance, long delta) {
+		VarHandle handle = varHandle();
+		try {
+			return isStatic() ? (long)handle.getAndAdd(delta) : (long)handle.getAndAdd(instance, delta);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	private static Object get(FieldAccessor accessor, Object instance) {
+		try {
+			return accessor.get(instance);
+		} catch (ClassCastException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	private static void set(FieldAccessor accessor, Object instance, Object value) {
+		try {
+			accessor.set(instance, value);
+		} catch (ClassCastException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/**
+	 * Compiles a new accessor for this field using the given backend. Each call compiles a new accessor, so callers
+	 * should hold on to the result.
+	 * @param backend The backend to compile the accessor with
+	 * @return The accessor
+	 */
+	public FieldAccessor accessor(InvokerBackend backend) {
+		if (backend == InvokerBackend.HIDDEN_CLASS && HiddenClasses.canAccess(field)) {
+			FieldAccessor accessor = HiddenClasses.fieldAccessor(field);
+			if (accessor != null) {
+				return accessor;
+			}
+		}
+		MethodHandle getter = getterHandle();
+		return new FieldAccessor() {
+			@Override
+			public Object get(Object instance) {
+				try {
+					return getter.invokeExact(instance);
+				} catch (Throwable t) {
+					throw rethrow(t);
+				}
+			}
+
+			@Override
+			public void set(Object instance, Object value) {
+				try {
+					setterHandle().invokeExact(instance, value);
+				} catch (Throwable t) {
+					throw rethrow(t);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Retrieves the accessor this field was promoted to, or compiles a new one with {@link Mirror#getInvokerBackend()}
+	 * without promoting this field
+	 * @return The accessor
+	 */
+	private FieldAccessor compiledAccessor() {
+		FieldAccessor accessor = this.accessor;
+		return accessor != null ? accessor : accessor(Mirror.getInvokerBackend());
+	}
+
+	/**
+	 * @param instance The instance passed to an accessor
+	 * @throws NullPointerException If this field isn't static and the instance is {@code null}
+	 * @throws IllegalArgumentException If the instance isn't an instance of the declaring class
+	 */
+	private void checkInstance(Object instance) {
+		if (!isStatic()) {
+			Conversions.checkReceiver(field.getDeclaringClass(), instance);
+		}
+	}
+
+	/**
+	 * @param value The value passed to a setter
+	 * @throws IllegalArgumentException If the value can't be converted to the type of this field
+	 */
+	private void checkValue(Object value) {
+		if (!Conversions.isAssignable(field.getType(), value)) {
+			if (value == null) {
+				throw new IllegalArgumentException("Value was null. Expected " + field.getType().getName());
+			}
+			throw new IllegalArgumentException("Value was of wrong type. Expected " + field.getType().getName() + " got " + value.getClass().getName());
+		}
+	}
+
+	/**
+	 * Converts a {@link Throwable} thrown by one of the accessor handles into the exception that the equivalent
+	 * {@link Field} method would have thrown
+	 * @param t The throwable
+	 * @return The exception to throw
+	 */
+	private static RuntimeException rethrow(Throwable t) {
+		if (t instanceof ClassCastException || t instanceof WrongMethodTypeException) {
+			return new IllegalArgumentException(t);
+		} else if (t instanceof RuntimeException) {
+			return (RuntimeException)t;
+		} else if (t instanceof Error) {
+			throw (Error)t;
+		} else {
+			return new RuntimeException(t);
+		}
+	}
+
+	/**
+	 * @return The getter handle of type {@code (Object)T}, where {@code T} is the type of this field
+	 */
+	private MethodHandle rawGetter() {
+		MethodHandle handle = rawGetter;
+		if (handle == null) {
+			try {
+				handle = MethodHandles.lookup().unreflectGetter(field);
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException(e);
+			}
+			if (isStatic()) {
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			handle = handle.asType(handle.type().changeParameterType(0, Object.class));
+			rawGetter = handle;
+		}
+		return handle;
+	}
+
+	/**
+	 * @return The setter handle of type {@code (Object, T)void}, where {@code T} is the type of this field
+	 */
+	private MethodHandle rawSetter() {
+		MethodHandle handle = rawSetter;
+		if (handle == null) {
+			try {
+				handle = MethodHandles.lookup().unreflectSetter(field);
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException(e);
+			}
+			if (isStatic()) {
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			handle = handle.asType(handle.type().changeParameterType(0, Object.class));
+			rawSetter = handle;
+		}
+		return handle;
+	}
+
+	/**
+	 * @return The {@link VarHandle} for this field. If the field has been made accessible, the handle is looked up
+	 * with private access to the declaring class
+	 */
+	@SuppressWarnings("deprecation")
+	private VarHandle varHandle() {
+		VarHandle handle = varHandle;
+		if (handle == null) {
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.lookup();
+				if (field.isAccessible()) {
+					lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), lookup);
+				}
+				handle = lookup.unreflectVarHandle(field);
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException(e);
+			}
+			varHandle = handle;
+		}
+		return handle;
+	}
+
+	/**
+	 * Switches this field over to a compiled accessor and records the promotion. Only one thread compiles the
+	 * accessor, the others wait for it and use the same one
+	 * @return The accessor
+	 */
+	private synchronized FieldAccessor promote() {
+		FieldAccessor accessor = this.accessor;
+		if (accessor == null) {
+			accessor = accessor(Mirror.getInvokerBackend());
+			this.accessor = accessor;
+			Mirror.recordPromotion(field);
+		}
+		return accessor;
+	}
+
+	private MethodHandle getterHandle() {
+		MethodHandle handle = getterHandle;
+		if (handle == null) {
+			handle = rawGetter().asType(GETTER_TYPE);
+			getterHandle = handle;
+		}
+		return handle;
+	}
+
+	private MethodHandle setterHandle() {
+		MethodHandle handle = setterHandle;
+		if (handle == null) {
+			handle = rawSetter().asType(SETTER_TYPE);
+			setterHandle = handle;
+		}
+		return handle;
+	}
+
+	/**
+	 * @param kind One of {@link #INT}, {@link #LONG}, {@link #DOUBLE} or {@link #BOOLEAN}
+	 * @return The getter handle of type {@code (Object)P}, where {@code P} is the given primitive type
+	 */
+	private MethodHandle primitiveGetter(int kind) {
+		MethodHandle[] handles = primitiveGetters;
+		if (handles == null) {
+			handles = new MethodHandle[PRIMITIVES.length];
+			primitiveGetters = handles;
+		}
+		MethodHandle handle = handles[kind];
+		if (handle == null) {
+			if (!field.getType().isPrimitive()) {
+				throw new IllegalArgumentException("Field " + name() + " of type " + field.getType().getName() + " cannot be read as " + PRIMITIVES[kind].getName());
+			}
+			try {
+				handle = rawGetter().asType(MethodType.methodType(PRIMITIVES[kind], Object.class));
+			} catch (WrongMethodTypeException e) {
+				throw new IllegalArgumentException("Field " + name() + " of type " + field.getType().getName() + " cannot be read as " + PRIMITIVES[kind].getName(), e);
+			}
+			handles[kind] = handle;
+		}
+		return handle;
+	}
+
+	/**
+	 * @param kind One of {@link #INT}, {@link #LONG}, {@link #DOUBLE} or {@link #BOOLEAN}
+	 * @return The setter handle of type {@code (Object, P)void}, where {@code P} is the given primitive type
+	 */
+	private MethodHandle primitiveSetter(int kind) {
+		MethodHandle[] handles = primitiveSetters;
+		if (handles == null) {
+			handles = new MethodHandle[PRIMITIVES.length];
+			primitiveSetters = handles;
+		}
+		MethodHandle handle = handles[kind];
+		if (handle == null) {
+			if (!field.getType().isPrimitive()) {
+				throw new IllegalArgumentException("Field " + name() + " of type " + field.getType().getName() + " cannot be set from " + PRIMITIVES[kind].getName());
+			}
+			try {
+				handle = rawSetter().asType(MethodType.methodType(void.class, Object.class, PRIMITIVES[kind]));
+			} catch (WrongMethodTypeException e) {
+				throw new IllegalArgumentException("Field " + name() + " of type " + field.getType().getName() + " cannot be set from " + PRIMITIVES[kind].getName(), e);
+			}
+			handles[kind] = handle;
+		}
+		return handle;
+	}
+
 	/**
 	 * @return The type of this field
 	 */
@@ -152,7 +1037,7 @@ public class MirrorField {
 	 * @return If this field has the annotation
 	 */
 	public boolean hasAnnotation(Class<? extends Annotation> clazz) {
-		return field.isAnnotationPresent(clazz);
+		return annotations().has(clazz);
 	}
 
 	/**
@@ -162,7 +1047,41 @@ public class MirrorField {
 	 * @return The instance of the annotation on this field
 	 */
 	public <A extends Annotation> A getAnnotation(Class<A> clazz) {
-		return field.getAnnotation(clazz);
+		return annotations().get(clazz);
+	}
+
+	/**
+	 * Checks if this field has the given annotation directly, inside a {@link java.lang.annotation.Repeatable} container,
+	 * or as a meta-annotation (transitively) of one of its annotations. The {@code java.lang.annotation} types are not
+	 * treated as meta-annotations
+	 * @param clazz The annotation class
+	 * @return If this field has the annotation
+	 */
+	public boolean hasMetaAnnotation(Class<? extends Annotation> clazz) {
+		return annotations().merged().has(clazz);
+	}
+
+	/**
+	 * Finds the given annotation on this field, searching the same places as {@link #hasMetaAnnotation(Class)}. The
+	 * annotation nearest to this field is returned: direct annotations first, then the contents of repeatable containers,
+	 * then meta-annotations, breadth first
+	 * @param clazz The annotation class
+	 * @param <A> The type of the annotation
+	 * @return The annotation, or {@code null} if it wasn't found
+	 */
+	public <A extends Annotation> A findMergedAnnotation(Class<A> clazz) {
+		return annotations().merged().get(clazz);
+	}
+
+	/**
+	 * @return The cached annotation table of this field
+	 */
+	private Annotations annotations() {
+		Annotations annotations = this.annotations;
+		if (annotations == null) {
+			this.annotations = annotations = interned != null ? interned.annotations() : Annotations.of(field);
+		}
+		return annotations;
 	}
 
 	@Override
@@ -1,8 +1,14 @@
 package net.shadowfacts.mirror;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A mirror method
@@ -11,10 +17,54 @@ import java.lang.reflect.Modifier;
  */
 public class MirrorMethod {
 
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
 	private Method method;
 
+	private final Class<?>[] parameterTypes;
+
+	/**
+	 * The compiled invoker for this method. {@code null} until this method has been invoked more than
+	 * {@link Mirror#getPromotionThreshold()} times, see {@link #promote()}
+	 */
+	private volatile MethodInvoker invoker;
+
+	/**
+	 * The number of reflective invocations of this method. Stops counting once the threshold is reached. Not
+	 * synchronized, so concurrent invocations may be missed; it only decides when to promote
+	 */
+	private int invocations;
+
+	/**
+	 * The cached implementations created by {@link #asInterface(Class)}, keyed by functional interface
+	 */
+	private Map<Class<?>, Object> implementations;
+
+	/**
+	 * The cached annotations of this method. Resolved lazily by {@link #annotations()}
+	 */
+	private Annotations annotations;
+
+	/**
+	 * If this is the interned mirror that {@link MirrorClass} hands out to every caller. The accessible flag of a shared
+	 * mirror is never changed, see {@link #setAccessible(boolean)}
+	 */
+	private final boolean shared;
+
+	/**
+	 * The interned mirror this mirror was copied from, which holds the shared annotation table. {@code null} if this
+	 * mirror wasn't copied
+	 */
+	private MirrorMethod interned;
+
 	MirrorMethod(Method method) {
+		this(method, false);
+	}
+
+	MirrorMethod(Method method, boolean shared) {
 		this.method = method;
+		this.parameterTypes = method.getParameterTypes();
+		this.shared = shared;
 	}
 
 	/**
@@ -39,35 +89,193 @@ public class MirrorMethod {
 	}
 
 	/**
-	 * Invokes this method on the given object with the given parameters
+	 * Invokes this method on the given object with the given parameters.
+	 * The first {@link Mirror#getPromotionThreshold()} invocations go through {@link Method#invoke(Object, Object...)},
+	 * after that this method is promoted to a compiled invoker created by {@link Mirror#getInvokerBackend()}.
+	 * The receiver and arguments are checked up front, so only exceptions thrown by the method itself are wrapped in
+	 * an {@link InvocationTargetException}.
 	 * @see Method#invoke(Object, Object...)
-	 * @param instance The instance to invoke on
+	 * @param instance The instance to invoke on, ignored if this method is static
 	 * @param args The arguments to pass to the method
 	 * @return The return value of the method
+	 * @throws NullPointerException If this method isn't static and the instance is {@code null}
+	 * @throws IllegalArgumentException If the instance isn't an instance of the declaring class, or the arguments
+	 *                                  don't match the parameters of this method
 	 */
 	public Object invoke(Object instance, Object... args) {
+		if (args == null) {
+			args = new Object[0];
+		}
+		if (!isStatic()) {
+			Conversions.checkReceiver(method.getDeclaringClass(), instance);
+		}
+		Conversions.checkArguments(parameterTypes, args);
+		MethodInvoker invoker = this.invoker;
+		if (invoker == null) {
+			if (invocations < Mirror.getPromotionThreshold()) {
+				invocations++;
+				try {
+					return method.invoke(instance, args);
+				} catch (ReflectiveOperationException e) {
+					throw new RuntimeException(e);
+				}
+			}
+			invoker = promote();
+		}
 		try {
-			return method.invoke(instance, args);
-		} catch (ReflectiveOperationException e) {
+			return invoker.invoke(instance, args);
+		} catch (Throwable t) {
+			throw new RuntimeException(new InvocationTargetException(t));
+		}
+	}
+
+	/**
+	 * Creates an implementation of the given functional interface that calls this method directly, without an
+	 * arguments array, boxing or reflective dispatch. The implementation is spun with
+	 * {@link java.lang.invoke.LambdaMetafactory} so the JIT can inline the call at the call site. Implementations are
+	 * created once per interface and cached.
+	 * If this method is not static, the first parameter of the interface method is the instance to invoke on.
+	 * @param iface The functional interface to implement
+	 * @param <I> The type of the functional interface
+	 * @return The implementation of the interface
+	 * @throws IllegalArgumentException If the given class isn't a functional interface or its method doesn't take the
+	 *                                  right number of parameters
+	 */
+	public <I> I asInterface(Class<I> iface) {
+		Map<Class<?>, Object> implementations = this.implementations;
+		if (implementations == null) {
+			implementations = new ConcurrentHashMap<>();
+			this.implementations = implementations;
+		}
+		return iface.cast(implementations.computeIfAbsent(iface, i -> Lambdas.implement(i, method.getDeclaringClass(), directHandle())));
+	}
+
+	/**
+	 * Creates an implementation of the given functional interface that calls this method on the given receiver.
+	 * Unlike {@link #asInterface(Class)}, the result is not cached, because it holds on to the receiver.
+	 * @see #asInterface(Class)
+	 * @param receiver The instance to invoke this method on
+	 * @param iface The functional interface to implement. Its method must take the same parameters as this method
+	 * @param <I> The type of the functional interface
+	 * @return The implementation of the interface
+	 * @throws IllegalArgumentException If this method is static, the receiver isn't an instance of the declaring
+	 *                                  class, or the given class isn't a compatible functional interface
+	 */
+	public <I> I bindTo(Object receiver, Class<I> iface) {
+		if (isStatic()) {
+			throw new IllegalArgumentException("Cannot bind static method " + name() + " to a receiver");
+		}
+		if (!method.getDeclaringClass().isInstance(receiver)) {
+			throw new IllegalArgumentException("Receiver must be an instance of " + method.getDeclaringClass().getName());
+		}
+		return Lambdas.bind(iface, method.getDeclaringClass(), directHandle(), receiver);
+	}
+
+	private MethodHandle directHandle() {
+		try {
+			return MethodHandles.lookup().unreflect(method);
+		} catch (IllegalAccessException e) {
 			throw new RuntimeException(e);
 		}
 	}
 
 	/**
-	 * Sets this method to be accessible
+	 * @return If this method has been invoked often enough to be promoted to a compiled invoker
+	 * @see Mirror#setPromotionThreshold(int)
+	 */
+	public boolean isPromoted() {
+		return invoker != null;
+	}
+
+	/**
+	 * @return The number of times this method was invoked through reflection before it was promoted
+	 */
+	public int invocationCount() {
+		return invocations;
+	}
+
+	/**
+	 * Compiles a new invoker for this method using the given backend. Each call compiles a new invoker, so callers
+	 * should hold on to the result.
+	 * @param backend The backend to compile the invoker with
+	 * @return The invoker
+	 */
+	public MethodInvoker invoker(InvokerBackend backend) {
+		if (backend == InvokerBackend.HIDDEN_CLASS && HiddenClasses.canAccess(method)) {
+			MethodInvoker invoker = HiddenClasses.methodInvoker(method);
+			if (invoker != null) {
+				return invoker;
+			}
+		}
+		MethodHandle handle = createInvoker();
+		return (instance, args) -> handle.invokeExact(instance, args);
+	}
+
+	/**
+	 * Switches this method over to a compiled invoker and records the promotion. Only one thread compiles the
+	 * invoker, the others wait for it and use the same one
+	 * @return The invoker
+	 */
+	private synchronized MethodInvoker promote() {
+		MethodInvoker invoker = this.invoker;
+		if (invoker == null) {
+			invoker = invoker(Mirror.getInvokerBackend());
+			this.invoker = invoker;
+			Mirror.recordPromotion(method);
+		}
+		return invoker;
+	}
+
+	/**
+	 * Creates a {@link MethodHandle} for this method adapted to take the instance and an array of arguments.
+	 * For static methods the instance is ignored.
+	 * @return The invoker
+	 */
+	private MethodHandle createInvoker() {
+		MethodHandle handle = directHandle().asFixedArity();
+		if (isStatic()) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		return handle.asSpreader(Object[].class, parameterTypes.length).asType(INVOKER_TYPE);
+	}
+
+	/**
+	 * Sets this method to be accessible. The mirrors returned by {@link MirrorClass} are shared between all callers, so
+	 * for those the flag is set on a private copy of this mirror, which is returned instead
 	 * @param accessible
-	 * @return This method
+	 * @return This method, or the private copy if this method is shared
 	 */
 	public MirrorMethod setAccessible(boolean accessible) {
+		if (shared) {
+			MirrorMethod mirror = new MirrorMethod(copy());
+			mirror.interned = this;
+			return mirror.setAccessible(accessible);
+		}
 		method.setAccessible(accessible);
+		invoker = null;
+		invocations = 0;
+		implementations = null;
 		return this;
 	}
 
+	/**
+	 * @return A fresh copy of this method from its declaring class
+	 */
+	private Method copy() {
+		// bridge methods share their parameter types with the method they bridge to, so compare the whole method
+		for (Method m : method.getDeclaringClass().getDeclaredMethods()) {
+			if (m.equals(method)) {
+				return m;
+			}
+		}
+		throw new IllegalStateException("Method " + method + " is no longer declared by its class");
+	}
+
 	/**
 	 * @return The types of the parameters that this method accepts
 	 */
 	public MirrorClass<?>[] parameterTypes() {
-		return Mirror.ofAllUnwrapped(method.getParameterTypes()).toArray(MirrorClass<?>[]::new);
+		return Mirror.ofAllUnwrapped(parameterTypes).toArray(MirrorClass<?>[]::new);
 	}
 
 	/**
@@ -133,6 +341,34 @@ public class MirrorMethod {
 		return !isAbstract();
 	}
 
+	/**
+	 * @return If this method is a bridge method generated by the compiler
+	 */
+	public boolean isBridge() {
+		return method.isBridge();
+	}
+
+	/**
+	 * @return If this method is not a bridge method
+	 */
+	public boolean isNotBridge() {
+		return !isBridge();
+	}
+
+	/**
+	 * @return If this method is synthetic (generated by the compiler)
+	 */
+	public boolean isSynthetic() {
+		return method.isSynthetic();
+	}
+
+	/**
+	 * @return If this method is not synthetic
+	 */
+	public boolean isNotSynthetic() {
+		return !isSynthetic();
+	}
+
 	/**
 	 * Checks if this method has the given modifier
 	 * @param modifier The modifier
@@ -148,7 +384,7 @@ public class MirrorMethod {
 	 * @return If this method has the annotation
 	 */
 	public boolean hasAnnotation(Class<? extends Annotation> clazz) {
-		return method.isAnnotationPresent(clazz);
+		return annotations().has(clazz);
 	}
 
 	/**
@@ -158,7 +394,41 @@ public class MirrorMethod {
 	 * @return The annotation
 	 */
 	public <A extends Annotation> A getAnnotation(Class<A> clazz) {
-		return method.getAnnotation(clazz);
+		return annotations().get(clazz);
+	}
+
+	/**
+	 * Checks if this method has the given annotation directly, inside a {@link java.lang.annotation.Repeatable} container,
+	 * or as a meta-annotation (transitively) of one of its annotations. The {@code java.lang.annotation} types are not
+	 * treated as meta-annotations
+	 * @param clazz The annotation class
+	 * @return If this method has the annotation
+	 */
+	public boolean hasMetaAnnotation(Class<? extends Annotation> clazz) {
+		return annotations().merged().has(clazz);
+	}
+
+	/**
+	 * Finds the given annotation on this method, searching the same places as {@link #hasMetaAnnotation(Class)}. The
+	 * annotation nearest to this method is returned: direct annotations first, then the contents of repeatable containers,
+	 * then meta-annotations, breadth first
+	 * @param clazz The annotation class
+	 * @param <A> The type of the annotation
+	 * @return The annotation, or {@code null} if it wasn't found
+	 */
+	public <A extends Annotation> A findMergedAnnotation(Class<A> clazz) {
+		return annotations().merged().get(clazz);
+	}
+
+	/**
+	 * @return The cached annotation table of this method
+	 */
+	private Annotations annotations() {
+		Annotations annotations = this.annotations;
+		if (annotations == null) {
+			this.annotations = annotations = interned != null ? interned.annotations() : Annotations.of(method);
+		}
+		return annotations;
 	}
 
 	@Override
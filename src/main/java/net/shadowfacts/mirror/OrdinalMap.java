@@ -0,0 +1,114 @@
+package net.shadowfacts.mirror;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * A map from the values of an enum to objects, stored densely in an array indexed by ordinal
+ *
+ * @author shadowfacts
+ *
+ * @see MirrorEnum#newOrdinalMap()
+ */
+public class OrdinalMap<E extends Enum<E>, V> {
+
+	private final E[] keys;
+	private final Object[] values;
+	private int size;
+
+	OrdinalMap(E[] keys) {
+		this.keys = keys;
+		this.values = new Object[keys.length];
+	}
+
+	/**
+	 * @param key The enum value
+	 * @return The value mapped to the given enum value, or {@code null} if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(E key) {
+		return (V)values[key.ordinal()];
+	}
+
+	/**
+	 * @param key The enum value
+	 * @param defaultValue The value to return if there is no mapping
+	 * @return The value mapped to the given enum value, or the default value if there is none
+	 */
+	public V getOrDefault(E key, V defaultValue) {
+		V value = get(key);
+		return value != null ? value : defaultValue;
+	}
+
+	/**
+	 * Maps the given enum value to the given value
+	 * @param key The enum value
+	 * @param value The value, must not be {@code null}
+	 * @return The value previously mapped to the enum value, or {@code null} if there was none
+	 */
+	public V put(E key, V value) {
+		if (value == null) {
+			throw new NullPointerException("value");
+		}
+		V previous = get(key);
+		values[key.ordinal()] = value;
+		if (previous == null) size++;
+		return previous;
+	}
+
+	/**
+	 * Removes the mapping for the given enum value
+	 * @param key The enum value
+	 * @return The value previously mapped to the enum value, or {@code null} if there was none
+	 */
+	public V remove(E key) {
+		V previous = get(key);
+		values[key.ordinal()] = null;
+		if (previous != null) size--;
+		return previous;
+	}
+
+	/**
+	 * @param key The enum value
+	 * @return If there is a value mapped to the given enum value
+	 */
+	public boolean containsKey(E key) {
+		return values[key.ordinal()] != null;
+	}
+
+	/**
+	 * @return The number of mappings
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return If there are no mappings
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all the mappings
+	 */
+	public void clear() {
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	/**
+	 * Performs the given action for each mapping, in ordinal order
+	 * @param action The action
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super E, ? super V> action) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				action.accept(keys[i], (V)values[i]);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,275 @@
+package net.shadowfacts.mirror;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The resolved methods of a single class: for each method signature in the class' hierarchy, the most specific
+ * implementation and the methods it overrides. Bridge and synthetic methods never appear as implementations; a bridge's
+ * signature resolves to the method it bridges to.
+ *
+ * @author shadowfacts
+ */
+final class OverrideTable {
+
+	private static final MirrorMethod[] NONE = new MirrorMethod[0];
+
+	private final Map<ClassMembers.Signature, MirrorMethod> bySignature;
+	private final MirrorMethod[] implementations;
+	private final Map<MirrorMethod, MirrorMethod[]> overridden;
+
+	private OverrideTable(Map<ClassMembers.Signature, MirrorMethod> bySignature, MirrorMethod[] implementations, Map<MirrorMethod, MirrorMethod[]> overridden) {
+		this.bySignature = bySignature;
+		this.implementations = implementations;
+		this.overridden = overridden;
+	}
+
+	/**
+	 * Builds the table for the given class by walking its hierarchy once, nearest class first
+	 * @param clazz The class
+	 * @param hierarchy The linearized hierarchy of the class, see {@link ClassMembers#hierarchy()}
+	 * @return The table
+	 */
+	static OverrideTable build(Class<?> clazz, Class<?>[] hierarchy) {
+		Map<ClassMembers.Signature, Entry> entries = new LinkedHashMap<>();
+		for (Class<?> c : hierarchy) {
+			MirrorMethod[] declared = Mirror.of(c).members.declaredMethods();
+			for (MirrorMethod m : declared) {
+				Method method = m.unwrap();
+				int modifiers = method.getModifiers();
+				if (c != clazz && (Modifier.isPrivate(modifiers) || (c.isInterface() && Modifier.isStatic(modifiers)))) {
+					continue;
+				}
+				MirrorMethod impl = method.isBridge() || method.isSynthetic() ? bridgeTarget(method, declared) : m;
+				if (impl == null) {
+					continue;
+				}
+
+				ClassMembers.Signature signature = new ClassMembers.Signature(method.getName(), method.getParameterTypes());
+				Entry entry = entries.get(signature);
+				if (entry == null) {
+					entries.put(signature, new Entry(impl));
+				} else if (entry.implementation != impl && ClassMembers.isOverridden(method, Collections.singletonList(entry.implementation.unwrap()))) {
+					if (isMoreSpecificDefault(impl.unwrap(), entry.implementation.unwrap())) {
+						entry.overridden.add(entry.implementation);
+						entry.implementation = impl;
+					} else {
+						entry.overridden.add(impl);
+					}
+				}
+			}
+		}
+
+		Map<ClassMembers.Signature, MirrorMethod> bySignature = new HashMap<>(entries.size() * 2);
+		Map<MirrorMethod, Set<MirrorMethod>> overridden = new LinkedHashMap<>();
+		for (Map.Entry<ClassMembers.Signature, Entry> e : entries.entrySet()) {
+			MirrorMethod impl = e.getValue().implementation;
+			bySignature.put(e.getKey(), impl);
+			overridden.computeIfAbsent(impl, k -> new LinkedHashSet<>()).addAll(e.getValue().overridden);
+		}
+		Map<MirrorMethod, MirrorMethod[]> overriddenArrays = new HashMap<>(overridden.size() * 2);
+		for (Map.Entry<MirrorMethod, Set<MirrorMethod>> e : overridden.entrySet()) {
+			e.getValue().remove(e.getKey());
+			overriddenArrays.put(e.getKey(), e.getValue().isEmpty() ? NONE : e.getValue().toArray(NONE));
+		}
+		return new OverrideTable(bySignature, overridden.keySet().toArray(NONE), overriddenArrays);
+	}
+
+	/**
+	 * Finds the method that the given bridge or synthetic method delegates to: the non-synthetic method of the same
+	 * class with the same name whose parameter and return types are assignable to the bridge's. If there are several
+	 * overloads like that, the one whose parameters are the bridged method's generic parameters, as bound by the
+	 * class, is picked, and otherwise the most specific one
+	 */
+	private static MirrorMethod bridgeTarget(Method bridge, MirrorMethod[] declared) {
+		Class<?>[] bridgeParameters = bridge.getParameterTypes();
+		List<MirrorMethod> candidates = new ArrayList<>(1);
+		candidates:
+		for (MirrorMethod m : declared) {
+			Method candidate = m.unwrap();
+			if (candidate.isBridge() || candidate.isSynthetic() || !candidate.getName().equals(bridge.getName()) || candidate.getParameterCount() != bridgeParameters.length) {
+				continue;
+			}
+			if (!bridge.getReturnType().isAssignableFrom(candidate.getReturnType())) {
+				continue;
+			}
+			Class<?>[] parameters = candidate.getParameterTypes();
+			for (int i = 0; i < parameters.length; i++) {
+				if (!bridgeParameters[i].isAssignableFrom(parameters[i])) {
+					continue candidates;
+				}
+			}
+			candidates.add(m);
+		}
+		if (candidates.size() <= 1) {
+			return candidates.isEmpty() ? null : candidates.get(0);
+		}
+
+		Class<?>[] bound = boundParameters(bridge);
+		if (bound != null) {
+			for (MirrorMethod m : candidates) {
+				if (Arrays.equals(m.unwrap().getParameterTypes(), bound)) {
+					return m;
+				}
+			}
+		}
+		MirrorMethod mostSpecific = candidates.get(0);
+		for (MirrorMethod m : candidates) {
+			if (isAssignable(mostSpecific.unwrap().getParameterTypes(), m.unwrap().getParameterTypes())) {
+				mostSpecific = m;
+			}
+		}
+		return mostSpecific;
+	}
+
+	/**
+	 * Finds the method of a superclass or interface that the given bridge was generated for, and erases its generic
+	 * parameter types with the type arguments the bridge's class binds them to
+	 * @return The parameter types of the method the bridge delegates to, or {@code null} if they can't be determined
+	 */
+	private static Class<?>[] boundParameters(Method bridge) {
+		Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+		List<Class<?>> supertypes = new ArrayList<>();
+		bind(bridge.getDeclaringClass(), bindings, supertypes);
+		for (Class<?> supertype : supertypes) {
+			Method bridged;
+			try {
+				bridged = supertype.getDeclaredMethod(bridge.getName(), bridge.getParameterTypes());
+			} catch (NoSuchMethodException e) {
+				continue;
+			}
+			Type[] generic = bridged.getGenericParameterTypes();
+			Class<?>[] bound = new Class<?>[generic.length];
+			for (int i = 0; i < generic.length; i++) {
+				Type type = generic[i];
+				while (type instanceof TypeVariable && bindings.containsKey(type)) {
+					type = bindings.get(type);
+				}
+				bound[i] = erase(type);
+			}
+			if (!Arrays.equals(bound, bridge.getParameterTypes())) {
+				return bound;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Collects the supertypes of the given class, and the type arguments they're parameterized with
+	 */
+	private static void bind(Class<?> clazz, Map<TypeVariable<?>, Type> bindings, List<Class<?>> supertypes) {
+		List<Type> generic = new ArrayList<>(Arrays.asList(clazz.getGenericInterfaces()));
+		if (clazz.getGenericSuperclass() != null) {
+			generic.add(0, clazz.getGenericSuperclass());
+		}
+		for (Type type : generic) {
+			Class<?> raw = erase(type);
+			if (type instanceof ParameterizedType) {
+				TypeVariable<?>[] variables = raw.getTypeParameters();
+				Type[] arguments = ((ParameterizedType)type).getActualTypeArguments();
+				for (int i = 0; i < variables.length; i++) {
+					bindings.put(variables[i], arguments[i]);
+				}
+			}
+			if (!supertypes.contains(raw)) {
+				supertypes.add(raw);
+				bind(raw, bindings, supertypes);
+			}
+		}
+	}
+
+	private static Class<?> erase(Type type) {
+		if (type instanceof Class) {
+			return (Class<?>)type;
+		} else if (type instanceof ParameterizedType) {
+			return erase(((ParameterizedType)type).getRawType());
+		} else if (type instanceof GenericArrayType) {
+			return Array.newInstance(erase(((GenericArrayType)type).getGenericComponentType()), 0).getClass();
+		} else if (type instanceof TypeVariable) {
+			return erase(((TypeVariable<?>)type).getBounds()[0]);
+		} else if (type instanceof WildcardType) {
+			return erase(((WildcardType)type).getUpperBounds()[0]);
+		}
+		return Object.class;
+	}
+
+	/**
+	 * @return If each of the given parameter types is assignable to the corresponding one of the other parameter types
+	 */
+	private static boolean isAssignable(Class<?>[] to, Class<?>[] from) {
+		for (int i = 0; i < to.length; i++) {
+			if (!to[i].isAssignableFrom(from[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Interfaces are visited breadth first, so a super-interface can be visited before a sub-interface that overrides
+	 * one of its methods
+	 * @return If the candidate is a default method that overrides the interface method currently resolved
+	 */
+	static boolean isMoreSpecificDefault(Method candidate, Method current) {
+		Class<?> owner = current.getDeclaringClass();
+		return candidate.isDefault() && owner.isInterface() && owner != candidate.getDeclaringClass() && owner.isAssignableFrom(candidate.getDeclaringClass());
+	}
+
+	/**
+	 * @return The most specific implementation of each method signature, each exactly once
+	 */
+	MirrorMethod[] implementations() {
+		return implementations;
+	}
+
+	/**
+	 * @param name The name of the method
+	 * @param parameterTypes The parameter types of the method
+	 * @return The most specific implementation of the given signature, or {@code null} if there is none
+	 */
+	MirrorMethod implementation(String name, Class<?>[] parameterTypes) {
+		return bySignature.get(new ClassMembers.Signature(name, parameterTypes));
+	}
+
+	/**
+	 * @param method The method
+	 * @return If the given method is the most specific implementation of its signature
+	 */
+	boolean isImplementation(MirrorMethod method) {
+		return overridden.containsKey(method);
+	}
+
+	/**
+	 * @param implementation The implementation
+	 * @return The methods the given implementation overrides, nearest first, or an empty array if it isn't an implementation
+	 */
+	MirrorMethod[] overridden(MirrorMethod implementation) {
+		MirrorMethod[] result = overridden.get(implementation);
+		return result != null ? result : NONE;
+	}
+
+	private static final class Entry {
+		private MirrorMethod implementation;
+		private final List<MirrorMethod> overridden = new ArrayList<>(1);
+
+		private Entry(MirrorMethod implementation) {
+			this.implementation = implementation;
+		}
+	}
+
+}
@@ -0,0 +1,388 @@
+package net.shadowfacts.mirror.scanner.cls;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The metadata of a class read straight from its class file, without loading the class: its name, access flags,
+ * super-class, interfaces and the types of its runtime-visible annotations.
+ * All names are binary names, as returned by {@link Class#getName()}.
+ *
+ * @author shadowfacts
+ *
+ * @see #read(byte[])
+ */
+public class ClassMetadata {
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final int ACC_ANNOTATION = 0x2000;
+	private static final int ACC_ENUM = 0x4000;
+	private static final int ACC_MODULE = 0x8000;
+
+	private final String name;
+	private final int access;
+	private final String superName;
+	private final List<String> interfaces;
+	private final Set<String> annotations;
+
+	/**
+	 * @param name The binary name of the class
+	 * @param access The access flags of the class
+	 * @param superName The binary name of the super-class, or {@code null} if it doesn't have one
+	 * @param interfaces The binary names of the interfaces the class directly implements
+	 * @param annotations The binary names of the runtime-visible annotation types on the class
+	 */
+	public ClassMetadata(String name, int access, String superName, List<String> interfaces, Set<String> annotations) {
+		this.name = name;
+		this.access = access;
+		this.superName = superName;
+		this.interfaces = Collections.unmodifiableList(interfaces);
+		this.annotations = Collections.unmodifiableSet(annotations);
+	}
+
+	/**
+	 * @return The binary name of the class
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * @return The name of the package the class is in, or an empty string for the default package
+	 */
+	public String packageName() {
+		int i = name.lastIndexOf('.');
+		return i < 0 ? "" : name.substring(0, i);
+	}
+
+	/**
+	 * @return The access flags of the class, see {@link Modifier}
+	 */
+	public int access() {
+		return access;
+	}
+
+	/**
+	 * @return The binary name of the super-class, or {@code null} for {@link Object} and module descriptors
+	 */
+	public String superName() {
+		return superName;
+	}
+
+	/**
+	 * @return The binary names of the interfaces the class directly implements
+	 */
+	public List<String> interfaces() {
+		return interfaces;
+	}
+
+	/**
+	 * @return The binary names of the runtime-visible annotation types on the class
+	 */
+	public Set<String> annotations() {
+		return annotations;
+	}
+
+	/**
+	 * @param annotation The binary name of the annotation type
+	 * @return If the class has the given annotation
+	 */
+	public boolean hasAnnotation(String annotation) {
+		return annotations.contains(annotation);
+	}
+
+	/**
+	 * @param annotation The annotation type
+	 * @return If the class has the given annotation
+	 */
+	public boolean hasAnnotation(Class<? extends Annotation> annotation) {
+		return hasAnnotation(annotation.getName());
+	}
+
+	/**
+	 * @return If the class is public
+	 */
+	public boolean isPublic() {
+		return Modifier.isPublic(access);
+	}
+
+	/**
+	 * @return If the class is an interface (including annotation types)
+	 */
+	public boolean isInterface() {
+		return Modifier.isInterface(access);
+	}
+
+	/**
+	 * @return If the class is abstract
+	 */
+	public boolean isAbstract() {
+		return Modifier.isAbstract(access);
+	}
+
+	/**
+	 * @return If the class is an annotation type
+	 */
+	public boolean isAnnotation() {
+		return (access & ACC_ANNOTATION) != 0;
+	}
+
+	/**
+	 * @return If the class is an enum
+	 */
+	public boolean isEnum() {
+		return (access & ACC_ENUM) != 0;
+	}
+
+	/**
+	 * @return If the class file is a module descriptor ({@code module-info.class}) rather than a class
+	 */
+	public boolean isModule() {
+		return (access & ACC_MODULE) != 0;
+	}
+
+	/**
+	 * @return If the class is an inner class, judged by its name
+	 */
+	public boolean isInner() {
+		return name.indexOf('$', name.lastIndexOf('.') + 1) >= 0;
+	}
+
+	@Override
+	public String toString() {
+		return "ClassMetadata{" + name + "}";
+	}
+
+	/**
+	 * Reads the metadata from the given class file stream. The stream is not closed
+	 * @param in The stream of the class file
+	 * @return The metadata
+	 * @throws IllegalArgumentException If the stream doesn't contain a valid class file
+	 */
+	public static ClassMetadata read(InputStream in) {
+		try {
+			return read(in.readAllBytes());
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Reads the metadata from the given class file
+	 * @param bytes The bytes of the class file
+	 * @return The metadata
+	 * @throws IllegalArgumentException If the bytes aren't a valid class file
+	 */
+	public static ClassMetadata read(byte[] bytes) {
+		try {
+			return new Reader(bytes).read();
+		} catch (IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Truncated class file", e);
+		}
+	}
+
+	/**
+	 * A single pass over a class file that indexes the constant pool, decoding only the entries it needs, and skips
+	 * everything but the header and the class attributes
+	 */
+	private static class Reader {
+
+		private final byte[] bytes;
+		private int pos;
+
+		/**
+		 * The offset of each constant pool entry, just after its tag
+		 */
+		private int[] offsets;
+		private String[] strings;
+
+		private Reader(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		private ClassMetadata read() {
+			if (u4() != MAGIC) {
+				throw new IllegalArgumentException("Not a class file");
+			}
+			pos += 4; // minor and major version
+			readConstantPool();
+
+			int access = u2();
+			String name = className(u2());
+			int superIndex = u2();
+			String superName = superIndex == 0 ? null : className(superIndex);
+			String[] interfaces = new String[u2()];
+			for (int i = 0; i < interfaces.length; i++) {
+				interfaces[i] = className(u2());
+			}
+
+			skipMembers(); // fields
+			skipMembers(); // methods
+
+			Set<String> annotations = new LinkedHashSet<>();
+			int attributes = u2();
+			for (int i = 0; i < attributes; i++) {
+				String attribute = utf8(u2());
+				int length = u4();
+				int end = pos + length;
+				if (attribute.equals("RuntimeVisibleAnnotations")) {
+					int count = u2();
+					for (int j = 0; j < count; j++) {
+						annotations.add(readAnnotation());
+					}
+				}
+				pos = end;
+			}
+
+			return new ClassMetadata(name, access, superName, Arrays.asList(interfaces), annotations);
+		}
+
+		private void readConstantPool() {
+			int count = u2();
+			offsets = new int[count];
+			strings = new String[count];
+			for (int i = 1; i < count; i++) {
+				int tag = bytes[pos++];
+				offsets[i] = pos;
+				switch (tag) {
+					case 1: // Utf8
+						pos += 2 + u2At(pos);
+						break;
+					case 3: // Integer
+					case 4: // Float
+					case 9: // Fieldref
+					case 10: // Methodref
+					case 11: // InterfaceMethodref
+					case 12: // NameAndType
+					case 17: // Dynamic
+					case 18: // InvokeDynamic
+						pos += 4;
+						break;
+					case 5: // Long
+					case 6: // Double
+						pos += 8;
+						i++;
+						break;
+					case 7: // Class
+					case 8: // String
+					case 16: // MethodType
+					case 19: // Module
+					case 20: // Package
+						pos += 2;
+						break;
+					case 15: // MethodHandle
+						pos += 3;
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+				}
+			}
+		}
+
+		private void skipMembers() {
+			int count = u2();
+			for (int i = 0; i < count; i++) {
+				pos += 6; // access, name and descriptor
+				int attributes = u2();
+				for (int j = 0; j < attributes; j++) {
+					pos += 2;
+					int length = u4();
+					pos += length;
+				}
+			}
+		}
+
+		/**
+		 * Reads an annotation, skipping its element values
+		 * @return The binary name of the annotation type
+		 */
+		private String readAnnotation() {
+			String descriptor = utf8(u2());
+			int pairs = u2();
+			for (int i = 0; i < pairs; i++) {
+				pos += 2;
+				skipElementValue();
+			}
+			return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+		}
+
+		private void skipElementValue() {
+			int tag = bytes[pos++];
+			switch (tag) {
+				case 'e':
+					pos += 4;
+					break;
+				case '@':
+					readAnnotation();
+					break;
+				case '[':
+					int count = u2();
+					for (int i = 0; i < count; i++) {
+						skipElementValue();
+					}
+					break;
+				default:
+					pos += 2;
+			}
+		}
+
+		private String className(int index) {
+			return utf8(u2At(offsets[index])).replace('/', '.');
+		}
+
+		private String utf8(int index) {
+			String s = strings[index];
+			if (s == null) {
+				int offset = offsets[index];
+				strings[index] = s = decode(offset + 2, u2At(offset));
+			}
+			return s;
+		}
+
+		/**
+		 * Decodes a modified UTF-8 string
+		 */
+		private String decode(int offset, int length) {
+			char[] chars = new char[length];
+			int count = 0;
+			int end = offset + length;
+			while (offset < end) {
+				int b = bytes[offset++] & 0xFF;
+				if (b < 0x80) {
+					chars[count++] = (char)b;
+				} else if (b < 0xE0) {
+					chars[count++] = (char)(((b & 0x1F) << 6) | (bytes[offset++] & 0x3F));
+				} else {
+					chars[count++] = (char)(((b & 0x0F) << 12) | ((bytes[offset++] & 0x3F) << 6) | (bytes[offset++] & 0x3F));
+				}
+			}
+			return new String(chars, 0, count);
+		}
+
+		private int u2() {
+			int value = u2At(pos);
+			pos += 2;
+			return value;
+		}
+
+		private int u2At(int offset) {
+			return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+		}
+
+		private int u4() {
+			int value = ((bytes[pos] & 0xFF) << 24) | ((bytes[pos + 1] & 0xFF) << 16) | ((bytes[pos + 2] & 0xFF) << 8) | (bytes[pos + 3] & 0xFF);
+			pos += 4;
+			return value;
+		}
+
+	}
+
+}
@@ -0,0 +1,92 @@
+package net.shadowfacts.mirror.scanner.cls;
+
+/**
+ * A reference to a class found by a scanner that hasn't necessarily been loaded yet. Its {@link ClassMetadata} is
+ * available without loading it, and the class is only loaded (without being initialized) by {@link #load()}
+ *
+ * @author shadowfacts
+ *
+ * @see JarScanner#scanRefs(JarScanner.JarScannerOptions)
+ * @see PackageScanner#scanRefs(String)
+ */
+public class ClassRef {
+
+	private final ClassMetadata metadata;
+	private final ClassLoader classLoader;
+
+	private volatile Class<?> clazz;
+
+	/**
+	 * @param metadata The metadata of the class
+	 * @param classLoader The class loader to load the class with
+	 */
+	public ClassRef(ClassMetadata metadata, ClassLoader classLoader) {
+		this.metadata = metadata;
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * @return The metadata of the class
+	 */
+	public ClassMetadata metadata() {
+		return metadata;
+	}
+
+	/**
+	 * @return The binary name of the class
+	 */
+	public String name() {
+		return metadata.name();
+	}
+
+	/**
+	 * @return The class loader the class is loaded with
+	 */
+	public ClassLoader classLoader() {
+		return classLoader;
+	}
+
+	/**
+	 * @return If {@link #load()} has already loaded the class
+	 */
+	public boolean isLoaded() {
+		return clazz != null;
+	}
+
+	/**
+	 * Loads the class, without initializing it
+	 * @return The class
+	 */
+	public Class<?> load() {
+		Class<?> clazz = this.clazz;
+		if (clazz == null) {
+			try {
+				this.clazz = clazz = Class.forName(metadata.name(), false, classLoader);
+			} catch (ClassNotFoundException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return clazz;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+
+		ClassRef that = (ClassRef) o;
+
+		return metadata.name().equals(that.metadata.name()) && classLoader == that.classLoader;
+	}
+
+	@Override
+	public int hashCode() {
+		return metadata.name().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "ClassRef{" + metadata.name() + "}";
+	}
+
+}
@@ -2,13 +2,29 @@ package net.shadowfacts.mirror.scanner.cls;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
- * A class scanner that finds all available classes in a Jar file using the given {@link ClassLoader}
+ * A class scanner that finds all available classes in a Jar file using the given {@link ClassLoader}.
+ * Jars are read through a {@link MappedJar}, so only the central directory and the class files that are actually
+ * read are touched.
+ * Classes are loaded without being initialized. If the options have a name filter, it's tested against the name of
+ * each entry before the class file is read, so the entries it rejects are never inflated. If the options have a
+ * metadata filter, each class file is read with {@link ClassMetadata} first and only the classes that pass the filter
+ * are loaded.
+ * Several jars, or the whole class path, can be scanned in parallel with {@link #scan(Collection, ForkJoinPool)}.
  *
  * @author shadowfacts
  *
@@ -24,36 +40,347 @@ public class JarScanner implements ClassScanner<JarScanner.JarScannerOptions> {
 	 */
 	public static final JarScanner instance = new JarScanner();
 
+	private final ScanIndex index;
+
+	/**
+	 * Creates a scanner that reads every jar it scans
+	 */
+	public JarScanner() {
+		this(null);
+	}
+
+	/**
+	 * Creates a scanner that reuses the metadata in the given index for jars that haven't changed since they were last
+	 * scanned, so the jars don't even need to be opened unless classes have to be loaded
+	 * @param index The index, or {@code null} to read every jar
+	 */
+	public JarScanner(ScanIndex index) {
+		this.index = index;
+	}
+
+	/**
+	 * The number of class entries below which a parallel scan stops splitting a jar and processes the entries on the
+	 * current worker
+	 */
+	private static final int THRESHOLD = 64;
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public Set<Class<?>> scan(JarScannerOptions options) {
-		JarFile jar;
+		Set<Class<?>> classes = new HashSet<>();
+
+		if (index != null) {
+			for (ClassRef ref : scanRefs(options)) {
+				classes.add(ref.load());
+			}
+			return classes;
+		}
+
+		MappedJar jar = open(options.file);
+		IntStream.range(0, jar.size())
+				.mapToObj(entry -> load(jar, entry, options))
+				.filter(Objects::nonNull)
+				.forEach(classes::add);
 
+		return classes;
+	}
+
+	/**
+	 * Scans for references to the classes in the jar without loading them. Each class file is read with
+	 * {@link ClassMetadata}, and if the options have a filter, only the classes that pass it are returned
+	 * @param options The options
+	 * @return The class references
+	 */
+	public Set<ClassRef> scanRefs(JarScannerOptions options) {
+		Set<ClassRef> refs = new HashSet<>();
+
+		if (index != null) {
+			for (ClassMetadata metadata : index.get(options.file, () -> read(options.file))) {
+				ClassRef ref = ref(metadata, options);
+				if (ref != null) {
+					refs.add(ref);
+				}
+			}
+			return refs;
+		}
+
+		MappedJar jar = open(options.file);
+		IntStream.range(0, jar.size())
+				.mapToObj(entry -> ref(jar, entry, options))
+				.filter(Objects::nonNull)
+				.forEach(refs::add);
+
+		return refs;
+	}
+
+	/**
+	 * Scans all the given jars in parallel in the {@link ForkJoinPool#commonPool() common pool}
+	 * @param jars The options for each jar
+	 * @return The classes of all the jars
+	 * @see #scan(Collection, ForkJoinPool)
+	 */
+	public Set<Class<?>> scan(Collection<JarScannerOptions> jars) {
+		return scan(jars, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Scans all the given jars in parallel. Each jar is a separate task, and the class entries of each jar are split
+	 * recursively so that idle workers can steal part of a large jar. Every task collects its own results, which are
+	 * only merged when the tasks are joined, so the workers never contend on a shared collection.
+	 * Reading, filtering and loading the classes all happen on the workers. Jars that are up to date in the
+	 * {@link ScanIndex index} aren't read at all
+	 * @param jars The options for each jar
+	 * @param pool The pool to run the scan in
+	 * @return The classes of all the jars
+	 */
+	public Set<Class<?>> scan(Collection<JarScannerOptions> jars, ForkJoinPool pool) {
+		return new HashSet<>(pool.invoke(new JarsTask<>(jars, index, JarScanner::load, ClassRef::load)));
+	}
+
+	/**
+	 * Scans for references to the classes in all the given jars in parallel, without loading them
+	 * @param jars The options for each jar
+	 * @param pool The pool to run the scan in
+	 * @return The class references of all the jars
+	 * @see #scan(Collection, ForkJoinPool)
+	 */
+	public Set<ClassRef> scanRefs(Collection<JarScannerOptions> jars, ForkJoinPool pool) {
+		return new HashSet<>(pool.invoke(new JarsTask<>(jars, index, JarScanner::ref, ref -> ref)));
+	}
+
+	/**
+	 * Creates the options for every jar on the {@code java.class.path}, so that the whole class path can be scanned
+	 * with {@link #scan(Collection)}. Directories and missing files are skipped
+	 * @param classLoader The class loader to load classes with
+	 * @param filter The filter the metadata of a class must pass for it to be loaded, or {@code null} to load every class
+	 * @return The options for each jar
+	 */
+	public static List<JarScannerOptions> classpath(ClassLoader classLoader, Predicate<ClassMetadata> filter) {
+		return classpath(classLoader, null, filter);
+	}
+
+	/**
+	 * Creates the options for every jar on the {@code java.class.path}, so that the whole class path can be scanned
+	 * with {@link #scan(Collection)}. Directories and missing files are skipped
+	 * @param classLoader The class loader to load classes with
+	 * @param nameFilter The filter the name of a class must pass for its class file to be read, or {@code null} to read every class
+	 * @param filter The filter the metadata of a class must pass for it to be loaded, or {@code null} to load every class
+	 * @return The options for each jar
+	 */
+	public static List<JarScannerOptions> classpath(ClassLoader classLoader, Predicate<String> nameFilter, Predicate<ClassMetadata> filter) {
+		List<JarScannerOptions> jars = new ArrayList<>();
+		for (String path : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+			File file = new File(path);
+			if (file.isFile() && path.endsWith(".jar")) {
+				jars.add(new JarScannerOptions(file, classLoader, nameFilter, filter));
+			}
+		}
+		return jars;
+	}
+
+	private static MappedJar open(File file) {
 		try {
-			jar = new JarFile(options.file);
+			return MappedJar.open(file);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
+	}
 
-		Set<Class<?>> classes = new HashSet<>();
+	/**
+	 * Loads the class of the given entry. Without a filter the class name is taken from the entry name, so the class
+	 * file doesn't need to be read
+	 * @return The class, or {@code null} if it was rejected by a filter
+	 */
+	private static Class<?> load(MappedJar jar, int entry, JarScannerOptions options) {
+		if (!acceptsName(jar, entry, options)) {
+			return null;
+		}
+		if (options.filter != null) {
+			ClassRef ref = ref(jar, entry, options);
+			return ref == null ? null : ref.load();
+		}
+		try {
+			return Class.forName(jar.className(entry), false, options.classLoader);
+		} catch (ClassNotFoundException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @return The reference to the class of the given entry, or {@code null} if it's a module descriptor or was
+	 * rejected by a filter
+	 */
+	private static ClassRef ref(MappedJar jar, int entry, JarScannerOptions options) {
+		return acceptsName(jar, entry, options) ? ref(read(jar, entry), options) : null;
+	}
+
+	private static ClassRef ref(ClassMetadata metadata, JarScannerOptions options) {
+		if (metadata.isModule() || (options.nameFilter != null && !options.nameFilter.test(metadata.name())) || (options.filter != null && !options.filter.test(metadata))) {
+			return null;
+		}
+		return new ClassRef(metadata, options.classLoader);
+	}
+
+	/**
+	 * @return If the name of the given entry passes the name filter, which only decodes the entry name
+	 */
+	private static boolean acceptsName(MappedJar jar, int entry, JarScannerOptions options) {
+		return options.nameFilter == null || options.nameFilter.test(jar.className(entry));
+	}
+
+	private static ClassMetadata read(MappedJar jar, int entry) {
+		try {
+			return jar.metadata(entry);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Reads the metadata of all the classes in the given jar, for the index
+	 */
+	private static List<ClassMetadata> read(File file) {
+		MappedJar jar = open(file);
+		return IntStream.range(0, jar.size())
+				.mapToObj(entry -> read(jar, entry))
+				.filter(metadata -> !metadata.isModule())
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Processes a single class entry of a jar
+	 * @param <T> The type of the result
+	 */
+	@FunctionalInterface
+	private interface EntryProcessor<T> {
+		/**
+		 * @return The result, or {@code null} to skip the entry
+		 */
+		T process(MappedJar jar, int entry, JarScannerOptions options);
+	}
+
+	/**
+	 * Forks a {@link JarTask} for each jar and concatenates their results
+	 */
+	private static class JarsTask<T> extends RecursiveTask<List<T>> {
 
-		jar.stream()
-				.map(JarEntry::getName)
-				.filter(name -> name.endsWith(".class"))
-				.map(name -> name.substring(0, name.length() - ".class".length()))
-				.map(name -> name.replace('/', '.'))
-				.map(name -> {
-					try {
-						return Class.forName(name, true, options.classLoader);
-					} catch (ClassNotFoundException e) {
-						throw new RuntimeException(e);
+		private static final long serialVersionUID = 1L;
+
+		private final Collection<JarScannerOptions> jars;
+		private final ScanIndex index;
+		private final EntryProcessor<T> processor;
+		private final Function<ClassRef, T> finisher;
+
+		/**
+		 * @param processor Processes an entry of a jar that isn't indexed
+		 * @param finisher Processes the reference to an indexed class that passed the filter
+		 */
+		private JarsTask(Collection<JarScannerOptions> jars, ScanIndex index, EntryProcessor<T> processor, Function<ClassRef, T> finisher) {
+			this.jars = jars;
+			this.index = index;
+			this.processor = processor;
+			this.finisher = finisher;
+		}
+
+		@Override
+		protected List<T> compute() {
+			List<JarTask<T>> tasks = new ArrayList<>(jars.size());
+			for (JarScannerOptions options : jars) {
+				tasks.add(new JarTask<>(options, index, processor, finisher));
+			}
+			invokeAll(tasks);
+			List<T> results = new ArrayList<>();
+			for (JarTask<T> task : tasks) {
+				results.addAll(task.join());
+			}
+			return results;
+		}
+
+	}
+
+	/**
+	 * Processes a single jar. If it's up to date in the index, the indexed metadata is processed without opening the
+	 * jar. Otherwise the jar is mapped and its class entries are handed to an {@link EntriesTask}
+	 */
+	private static class JarTask<T> extends RecursiveTask<List<T>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final JarScannerOptions options;
+		private final ScanIndex index;
+		private final EntryProcessor<T> processor;
+		private final Function<ClassRef, T> finisher;
+
+		private JarTask(JarScannerOptions options, ScanIndex index, EntryProcessor<T> processor, Function<ClassRef, T> finisher) {
+			this.options = options;
+			this.index = index;
+			this.processor = processor;
+			this.finisher = finisher;
+		}
+
+		@Override
+		protected List<T> compute() {
+			if (index != null) {
+				List<ClassMetadata> metadata = index.get(options.file, () -> process((jar, entry, o) -> {
+					ClassMetadata m = read(jar, entry);
+					return m.isModule() ? null : m;
+				}));
+				return new EntriesTask<T>(0, metadata.size(), i -> {
+					ClassRef ref = ref(metadata.get(i), options);
+					return ref == null ? null : finisher.apply(ref);
+				}).compute();
+			}
+			return process(processor);
+		}
+
+		private <R> List<R> process(EntryProcessor<R> processor) {
+			MappedJar jar = open(options.file);
+			return new EntriesTask<R>(0, jar.size(), entry -> processor.process(jar, entry, options)).compute();
+		}
+
+	}
+
+	/**
+	 * Processes a range of the class entries of a jar, or of its indexed metadata, splitting it in half until it's
+	 * below the {@link #THRESHOLD}
+	 */
+	private static class EntriesTask<T> extends RecursiveTask<List<T>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+		private final IntFunction<T> processor;
+
+		private EntriesTask(int from, int to, IntFunction<T> processor) {
+			this.from = from;
+			this.to = to;
+			this.processor = processor;
+		}
+
+		@Override
+		protected List<T> compute() {
+			if (to - from <= THRESHOLD) {
+				List<T> results = new ArrayList<>(to - from);
+				for (int i = from; i < to; i++) {
+					T result = processor.apply(i);
+					if (result != null) {
+						results.add(result);
 					}
-				})
-				.forEach(classes::add);
+				}
+				return results;
+			}
+			int middle = (from + to) >>> 1;
+			EntriesTask<T> left = new EntriesTask<>(from, middle, processor);
+			left.fork();
+			List<T> results = new EntriesTask<>(middle, to, processor).compute();
+			List<T> leftResults = left.join();
+			leftResults.addAll(results);
+			return leftResults;
+		}
 
-		return classes;
 	}
 
 	/**
@@ -62,14 +389,38 @@ public class JarScanner implements ClassScanner<JarScanner.JarScannerOptions> {
 	public static class JarScannerOptions {
 		private File file;
 		private ClassLoader classLoader;
+		private Predicate<String> nameFilter;
+		private Predicate<ClassMetadata> filter;
 
 		/**
 		 * @param file The Jar file to scan in
 		 * @param classLoader The class loader to load classes with
 		 */
 		public JarScannerOptions(File file, ClassLoader classLoader) {
+			this(file, classLoader, null);
+		}
+
+		/**
+		 * @param file The Jar file to scan in
+		 * @param classLoader The class loader to load classes with
+		 * @param filter The filter the metadata of a class must pass for it to be loaded, or {@code null} to load every class
+		 */
+		public JarScannerOptions(File file, ClassLoader classLoader, Predicate<ClassMetadata> filter) {
+			this(file, classLoader, null, filter);
+		}
+
+		/**
+		 * @param file The Jar file to scan in
+		 * @param classLoader The class loader to load classes with
+		 * @param nameFilter The filter the binary name of a class (e.g. {@code com.example.Foo$Bar}) must pass for
+		 *                   its class file to be read, or {@code null} to read every class
+		 * @param filter The filter the metadata of a class must pass for it to be loaded, or {@code null} to load every class
+		 */
+		public JarScannerOptions(File file, ClassLoader classLoader, Predicate<String> nameFilter, Predicate<ClassMetadata> filter) {
 			this.file = file;
 			this.classLoader = classLoader;
+			this.nameFilter = nameFilter;
+			this.filter = filter;
 		}
 	}
 
@@ -0,0 +1,310 @@
+package net.shadowfacts.mirror.scanner.cls;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * The class entries of a jar, read by memory-mapping the jar and parsing its ZIP central directory directly, instead
+ * of going through {@link java.util.jar.JarFile}. Opening a jar only touches the pages of the central directory, and
+ * only records the offset of each {@code .class} entry in an {@code int} array, so no objects are created per entry.
+ * The name and contents of an entry are only decoded when they're asked for, and compressed entries are inflated
+ * straight from the mapped buffer. The manifest and signatures are ignored, and so are module and package descriptors
+ * ({@code module-info.class}, {@code package-info.class}) and everything under {@code META-INF/}, including the
+ * versioned classes of multi-release jars, since none of them can be loaded by their entry name.
+ * ZIP64 jars are supported, but jars larger than 2 GB can't be mapped in a single buffer.
+ * The mapping is released when the {@code MappedJar} is garbage collected; the file itself is closed once it's mapped.
+ * Reading entries is thread-safe.
+ *
+ * @author shadowfacts
+ *
+ * @see JarScanner
+ */
+public final class MappedJar {
+
+	private static final int LOCAL_HEADER = 0x04034b50;
+	private static final int CENTRAL_HEADER = 0x02014b50;
+	private static final int END = 0x06054b50;
+	private static final int ZIP64_END = 0x06064b50;
+	private static final int ZIP64_LOCATOR = 0x07064b50;
+
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+
+	private static final long MAX_U4 = 0xFFFFFFFFL;
+
+	private static final byte[] CLASS_SUFFIX = ".class".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] META_INF = "META-INF/".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] MODULE_INFO = "module-info.class".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] PACKAGE_INFO = "package-info.class".getBytes(StandardCharsets.US_ASCII);
+
+	private final File file;
+	private final ByteBuffer buffer;
+
+	/**
+	 * The offset of the central directory record of each class entry
+	 */
+	private final int[] entries;
+
+	private MappedJar(File file, ByteBuffer buffer, int[] entries) {
+		this.file = file;
+		this.buffer = buffer;
+		this.entries = entries;
+	}
+
+	/**
+	 * Maps the given jar and reads its central directory
+	 * @param file The jar
+	 * @return The mapped jar
+	 * @throws IOException If the jar can't be read, isn't a valid ZIP file or is larger than 2 GB
+	 */
+	public static MappedJar open(File file) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new ZipException("Jar is too large to map: " + file);
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		try {
+			return new MappedJar(file, buffer, readCentralDirectory(buffer));
+		} catch (IndexOutOfBoundsException e) {
+			throw new ZipException("Truncated jar: " + file);
+		}
+	}
+
+	private static int[] readCentralDirectory(ByteBuffer buffer) throws ZipException {
+		int end = findEnd(buffer);
+		long size = u4(buffer, end + 12);
+		long offset = u4(buffer, end + 16);
+		if (size == MAX_U4 || offset == MAX_U4 || u2(buffer, end + 10) == 0xFFFF) {
+			int locator = end - 20;
+			if (locator >= 0 && buffer.getInt(locator) == ZIP64_LOCATOR) {
+				int zip64End = checkedOffset(buffer.getLong(locator + 8));
+				if (buffer.getInt(zip64End) != ZIP64_END) {
+					throw new ZipException("Invalid ZIP64 end of central directory");
+				}
+				size = buffer.getLong(zip64End + 40);
+				offset = buffer.getLong(zip64End + 48);
+			}
+		}
+
+		int[] entries = new int[16];
+		int count = 0;
+		int pos = checkedOffset(offset);
+		int cdEnd = checkedOffset(offset + size);
+		while (pos < cdEnd) {
+			if (buffer.getInt(pos) != CENTRAL_HEADER) {
+				throw new ZipException("Invalid central directory header");
+			}
+			int nameLength = u2(buffer, pos + 28);
+			if (isClass(buffer, pos + 46, nameLength)) {
+				if (count == entries.length) {
+					entries = Arrays.copyOf(entries, count * 2);
+				}
+				entries[count++] = pos;
+			}
+			pos += 46 + nameLength + u2(buffer, pos + 30) + u2(buffer, pos + 32);
+		}
+		return Arrays.copyOf(entries, count);
+	}
+
+	/**
+	 * Finds the end of central directory record, which is followed by a comment of up to 64 KB
+	 */
+	private static int findEnd(ByteBuffer buffer) throws ZipException {
+		int min = Math.max(0, buffer.limit() - 22 - 0xFFFF);
+		for (int pos = buffer.limit() - 22; pos >= min; pos--) {
+			if (buffer.getInt(pos) == END) {
+				return pos;
+			}
+		}
+		throw new ZipException("Not a ZIP file");
+	}
+
+	/**
+	 * @return If the entry with the given name is a class that can be loaded by its name
+	 */
+	private static boolean isClass(ByteBuffer buffer, int name, int length) {
+		if (!matches(buffer, name + length - CLASS_SUFFIX.length, length, CLASS_SUFFIX) || matches(buffer, name, length, META_INF)) {
+			return false;
+		}
+		int simpleName = name + length;
+		while (simpleName > name && buffer.get(simpleName - 1) != '/') {
+			simpleName--;
+		}
+		int simpleLength = name + length - simpleName;
+		return !matches(buffer, simpleName, simpleLength, MODULE_INFO) && !matches(buffer, simpleName, simpleLength, PACKAGE_INFO);
+	}
+
+	/**
+	 * @param offset The offset to compare at
+	 * @param available The number of bytes of the name that are available, which the bytes must fit in
+	 * @return If the buffer contains the given bytes at the given offset
+	 */
+	private static boolean matches(ByteBuffer buffer, int offset, int available, byte[] bytes) {
+		if (available < bytes.length) {
+			return false;
+		}
+		for (int i = 0; i < bytes.length; i++) {
+			if (buffer.get(offset + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return The jar file
+	 */
+	public File file() {
+		return file;
+	}
+
+	/**
+	 * @return The number of class entries in the jar
+	 */
+	public int size() {
+		return entries.length;
+	}
+
+	/**
+	 * @param index The index of the class entry
+	 * @return The name of the entry, e.g. {@code net/shadowfacts/mirror/Mirror.class}
+	 */
+	public String name(int index) {
+		int entry = entries[index];
+		byte[] name = new byte[u2(buffer, entry + 28)];
+		buffer.duplicate().position(entry + 46).get(name);
+		return new String(name, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param index The index of the class entry
+	 * @return The binary name of the class, derived from the name of the entry
+	 */
+	public String className(int index) {
+		String name = name(index);
+		return name.substring(0, name.length() - ".class".length()).replace('/', '.');
+	}
+
+	/**
+	 * Reads the contents of a class entry, inflating it if it's compressed
+	 * @param index The index of the class entry
+	 * @return The bytes of the class file
+	 * @throws IOException If the entry is corrupt or uses an unsupported compression method
+	 */
+	public byte[] read(int index) throws IOException {
+		int entry = entries[index];
+		if ((u2(buffer, entry + 8) & 1) != 0) {
+			throw new ZipException("Encrypted entry " + name(index));
+		}
+		int method = u2(buffer, entry + 10);
+		long compressed = u4(buffer, entry + 20);
+		long uncompressed = u4(buffer, entry + 24);
+		long local = u4(buffer, entry + 42);
+
+		if (compressed == MAX_U4 || uncompressed == MAX_U4 || local == MAX_U4) {
+			int nameLength = u2(buffer, entry + 28);
+			int extra = entry + 46 + nameLength;
+			int extraEnd = extra + u2(buffer, entry + 30);
+			while (extra + 4 <= extraEnd) {
+				int id = u2(buffer, extra);
+				int length = u2(buffer, extra + 2);
+				if (id == 0x0001) {
+					int pos = extra + 4;
+					if (uncompressed == MAX_U4) {
+						uncompressed = buffer.getLong(pos);
+						pos += 8;
+					}
+					if (compressed == MAX_U4) {
+						compressed = buffer.getLong(pos);
+						pos += 8;
+					}
+					if (local == MAX_U4) {
+						local = buffer.getLong(pos);
+					}
+					break;
+				}
+				extra += 4 + length;
+			}
+		}
+
+		int header = checkedOffset(local);
+		if (buffer.getInt(header) != LOCAL_HEADER) {
+			throw new ZipException("Invalid local header for " + name(index));
+		}
+		int data = header + 30 + u2(buffer, header + 26) + u2(buffer, header + 28);
+		if (uncompressed > Integer.MAX_VALUE) {
+			throw new ZipException("Entry is too large: " + name(index));
+		}
+		if (data + compressed > buffer.limit()) {
+			throw new ZipException("Truncated entry " + name(index));
+		}
+		ByteBuffer input = buffer.duplicate().limit((int)(data + compressed)).position(data);
+		byte[] bytes = new byte[(int)uncompressed];
+
+		switch (method) {
+			case STORED:
+				input.get(bytes);
+				return bytes;
+			case DEFLATED:
+				Inflater inflater = new Inflater(true);
+				try {
+					inflater.setInput(input);
+					int read = 0;
+					while (read < bytes.length) {
+						int n = inflater.inflate(bytes, read, bytes.length - read);
+						if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+							throw new ZipException("Truncated entry " + name(index));
+						}
+						read += n;
+					}
+					return bytes;
+				} catch (DataFormatException e) {
+					throw new ZipException("Invalid compressed data in " + name(index) + ": " + e.getMessage());
+				} finally {
+					inflater.end();
+				}
+			default:
+				throw new ZipException("Unsupported compression method " + method + " for " + name(index));
+		}
+	}
+
+	/**
+	 * Reads the metadata of a class entry
+	 * @param index The index of the class entry
+	 * @return The metadata
+	 * @throws IOException If the entry can't be read
+	 * @see ClassMetadata#read(byte[])
+	 */
+	public ClassMetadata metadata(int index) throws IOException {
+		return ClassMetadata.read(read(index));
+	}
+
+	private static int checkedOffset(long offset) throws ZipException {
+		if (offset < 0 || offset > Integer.MAX_VALUE) {
+			throw new ZipException("Invalid offset " + offset);
+		}
+		return (int)offset;
+	}
+
+	private static int u2(ByteBuffer buffer, int offset) {
+		return buffer.getShort(offset) & 0xFFFF;
+	}
+
+	private static long u4(ByteBuffer buffer, int offset) {
+		return buffer.getInt(offset) & MAX_U4;
+	}
+
+}
@@ -3,10 +3,15 @@ package net.shadowfacts.mirror.scanner.cls;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
- * A class scanner that finds all available classes in the given package
+ * A class scanner that finds all available classes in the given package.
+ * Classes are loaded without being initialized, see {@link #scan(String, Predicate)} to avoid loading them altogether.
  *
  * @author shadowfacts
  *
@@ -16,13 +21,100 @@ public class PackageScanner implements ClassScanner<String> {
 
 	public static final PackageScanner instance = new PackageScanner();
 
+	private final ScanIndex index;
+
+	/**
+	 * Creates a scanner that reads every class file it scans
+	 */
+	public PackageScanner() {
+		this(null);
+	}
+
+	/**
+	 * Creates a scanner that reuses the metadata in the given index for package directories that haven't changed
+	 * since they were last scanned
+	 * @param index The index, or {@code null} to read every class file
+	 */
+	public PackageScanner(ScanIndex index) {
+		this.index = index;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public Set<Class<?>> scan(String thePackage) {
+		return scan(thePackage, null);
+	}
+
+	/**
+	 * Scans for the classes in the given package whose metadata passes the given filter. Each class file is read with
+	 * {@link ClassMetadata} first, and only the classes that pass the filter are loaded
+	 * @param thePackage The package
+	 * @param filter The filter, or {@code null} to load every class
+	 * @return The classes
+	 */
+	public Set<Class<?>> scan(String thePackage, Predicate<ClassMetadata> filter) {
 		Set<Class<?>> classes = new HashSet<>();
+		if (filter == null && index == null) {
+			for (File dir : directories(thePackage)) {
+				forEachClassFile(dir, thePackage, (f, className) -> classes.add(load(className)));
+			}
+		} else {
+			forEachClass(thePackage, metadata -> {
+				if (filter == null || filter.test(metadata)) {
+					classes.add(load(metadata.name()));
+				}
+			});
+		}
+		return classes;
+	}
+
+	/**
+	 * Scans for references to the classes in the given package without loading them
+	 * @param thePackage The package
+	 * @return The class references
+	 */
+	public Set<ClassRef> scanRefs(String thePackage) {
+		Set<ClassRef> refs = new HashSet<>();
+		forEachClass(thePackage, metadata -> refs.add(new ClassRef(metadata, PackageScanner.class.getClassLoader())));
+		return refs;
+	}
+
+	private static Class<?> load(String className) {
+		try {
+			return Class.forName(className, false, PackageScanner.class.getClassLoader());
+		} catch (ClassNotFoundException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Calls the given action with the metadata of every class in the given package, taking it from the index for
+	 * directories that haven't changed
+	 */
+	private void forEachClass(String thePackage, Consumer<ClassMetadata> action) {
+		for (File dir : directories(thePackage)) {
+			if (index != null) {
+				index.get(dir, () -> read(dir, thePackage)).forEach(action);
+			} else {
+				read(dir, thePackage).forEach(action);
+			}
+		}
+	}
+
+	private static List<ClassMetadata> read(File dir, String thePackage) {
+		List<ClassMetadata> metadata = new ArrayList<>();
+		forEachClassFile(dir, thePackage, (f, className) -> {
+			ClassMetadata m = read(f);
+			if (!m.isModule()) {
+				metadata.add(m);
+			}
+		});
+		return metadata;
+	}
 
+	private static List<File> directories(String thePackage) {
 		Enumeration<URL> urls = null;
 
 		try {
@@ -31,38 +123,36 @@ public class PackageScanner implements ClassScanner<String> {
 			throw new RuntimeException(e);
 		}
 
+		List<File> dirs = new ArrayList<>();
 		while (urls.hasMoreElements()) {
 			URL url = urls.nextElement();
 			if (url == null) {
 				throw new IllegalArgumentException("No such package " + thePackage);
 			}
 
-			File dir = new File(url.getFile());
-
-			for (File f : dir.listFiles()) {
-				addAll(classes, f, thePackage);
-			}
+			dirs.add(new File(url.getFile()));
 		}
-
-		return classes;
+		return dirs;
 	}
 
-	private void addAll(Set<Class<?>> classes, File f, String thePackage) {
-		String name = thePackage + "." + f.getName();
+	private static void forEachClassFile(File dir, String thePackage, BiConsumer<File, String> action) {
+		for (File f : dir.listFiles()) {
+			String name = thePackage + "." + f.getName();
 
-		if (f.isDirectory()) {
-			for (File dir : f.listFiles()) {
-				addAll(classes, dir, name);
-			}
-		} else if (name.endsWith(".class")) {
-			try {
-				String className = name;
-				className = className.substring(0, className.length() - ".class".length());
-				classes.add(Class.forName(className));
-			} catch (ClassNotFoundException e) {
-				throw new RuntimeException(e);
+			if (f.isDirectory()) {
+				forEachClassFile(f, name, action);
+			} else if (name.endsWith(".class")) {
+				action.accept(f, name.substring(0, name.length() - ".class".length()));
 			}
 		}
 	}
 
+	private static ClassMetadata read(File f) {
+		try {
+			return ClassMetadata.read(Files.readAllBytes(f.toPath()));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 }
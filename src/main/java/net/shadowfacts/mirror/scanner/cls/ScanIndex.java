@@ -0,0 +1,291 @@
+package net.shadowfacts.mirror.scanner.cls;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * A persistent index of the {@link ClassMetadata} found in scanned jars and package directories, so that unchanged
+ * inputs don't have to be rescanned when the JVM restarts.
+ * Each input has its own index file in the index directory, which defaults to {@code mirror-scan-index} in the
+ * user's cache directory so that index files never end up in a classpath output tree, and can't be planted or
+ * removed by other users the way they could in a shared temporary directory. The index file starts with the fingerprint of the input (its path, size, modification time and, optionally, a CRC-32 of its
+ * contents) and is only used if the fingerprint still matches. The metadata is stored in a compact binary format with
+ * a string table, since class, super-class and annotation names repeat a lot.
+ * The index is best-effort: unreadable index files are treated as stale and failures to write one are ignored.
+ *
+ * @author shadowfacts
+ *
+ * @see JarScanner#JarScanner(ScanIndex)
+ * @see PackageScanner#PackageScanner(ScanIndex)
+ */
+public class ScanIndex {
+
+	private static final int MAGIC = 0x4D495258; // MIRX
+	private static final int VERSION = 1;
+	/**
+	 * The size of an empty string in the string table
+	 */
+	private static final int MIN_STRING_SIZE = 2;
+	/**
+	 * The size of a class without interfaces or annotations
+	 */
+	private static final int MIN_CLASS_SIZE = 14;
+
+	/**
+	 * The directory index files are stored in if none is configured: {@code mirror-scan-index} in
+	 * {@code $XDG_CACHE_HOME}, or in {@code ~/.cache} if that isn't set
+	 */
+	public static final File DEFAULT_DIRECTORY = new File(cacheDirectory(), "mirror-scan-index");
+
+	private final File directory;
+	private final boolean hashContents;
+
+	/**
+	 * Creates an index that stores the index files in {@link #DEFAULT_DIRECTORY} and doesn't hash the contents of the
+	 * inputs
+	 */
+	public ScanIndex() {
+		this(null, false);
+	}
+
+	/**
+	 * @param directory The directory to store the index files in, or {@code null} for {@link #DEFAULT_DIRECTORY}
+	 * @param hashContents If the contents of the inputs should be hashed as well, to catch changes that keep the same
+	 *                     size and modification time
+	 */
+	public ScanIndex(File directory, boolean hashContents) {
+		this.directory = directory == null ? DEFAULT_DIRECTORY : directory;
+		this.hashContents = hashContents;
+	}
+
+	private static File cacheDirectory() {
+		String cache = System.getenv("XDG_CACHE_HOME");
+		if (cache != null && new File(cache).isAbsolute()) {
+			return new File(cache);
+		}
+		return new File(System.getProperty("user.home"), ".cache");
+	}
+
+	/**
+	 * Retrieves the indexed metadata of the given input, or scans it with the given function and indexes the result
+	 * if the input has changed since it was indexed
+	 * @param input The jar or package directory
+	 * @param scan Scans the input
+	 * @return The metadata of the classes in the input
+	 */
+	public List<ClassMetadata> get(File input, Supplier<List<ClassMetadata>> scan) {
+		Fingerprint fingerprint = fingerprint(input);
+		File file = indexFile(input);
+		List<ClassMetadata> metadata = read(file, fingerprint);
+		if (metadata == null) {
+			metadata = scan.get();
+			write(file, fingerprint, metadata);
+		}
+		return metadata;
+	}
+
+	/**
+	 * @param input The jar or package directory
+	 * @return The index file of the given input
+	 */
+	public File indexFile(File input) {
+		String path = input.getAbsolutePath();
+		return new File(directory, input.getName() + "-" + Integer.toHexString(path.hashCode()) + ".idx");
+	}
+
+	private Fingerprint fingerprint(File input) {
+		CRC32 crc = hashContents ? new CRC32() : null;
+		long[] sizeAndModified = new long[2];
+		try {
+			fingerprint(input, crc, sizeAndModified);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		return new Fingerprint(input.getAbsolutePath(), sizeAndModified[0], sizeAndModified[1], crc == null ? 0 : crc.getValue());
+	}
+
+	/**
+	 * Jars are fingerprinted directly. A directory's size is the total size of the class files in it, and its
+	 * modification time is the latest of the class files and the directories themselves, since adding or removing a
+	 * file changes the modification time of its directory
+	 */
+	private static void fingerprint(File input, CRC32 crc, long[] sizeAndModified) throws IOException {
+		sizeAndModified[1] = Math.max(sizeAndModified[1], input.lastModified());
+		if (input.isDirectory()) {
+			File[] files = input.listFiles();
+			if (files == null) {
+				return;
+			}
+			Arrays.sort(files);
+			for (File f : files) {
+				if (f.isDirectory() || f.getName().endsWith(".class")) {
+					fingerprint(f, crc, sizeAndModified);
+				}
+			}
+		} else {
+			sizeAndModified[0] += input.length();
+			if (crc != null) {
+				try (InputStream in = new FileInputStream(input)) {
+					byte[] buffer = new byte[8192];
+					int read;
+					while ((read = in.read(buffer)) > 0) {
+						crc.update(buffer, 0, read);
+					}
+				}
+			}
+		}
+	}
+
+	private static List<ClassMetadata> read(File file, Fingerprint fingerprint) {
+		if (!file.isFile()) {
+			return null;
+		}
+		long length = file.length();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION || !Fingerprint.read(in).equals(fingerprint)) {
+				return null;
+			}
+			String[] strings = new String[readCount(in, length, MIN_STRING_SIZE)];
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = in.readUTF();
+			}
+			int count = readCount(in, length, MIN_CLASS_SIZE);
+			List<ClassMetadata> metadata = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				String name = strings[in.readInt()];
+				int access = in.readUnsignedShort();
+				int superIndex = in.readInt();
+				String[] interfaces = new String[in.readUnsignedShort()];
+				for (int j = 0; j < interfaces.length; j++) {
+					interfaces[j] = strings[in.readInt()];
+				}
+				Set<String> annotations = new LinkedHashSet<>();
+				int annotationCount = in.readUnsignedShort();
+				for (int j = 0; j < annotationCount; j++) {
+					annotations.add(strings[in.readInt()]);
+				}
+				metadata.add(new ClassMetadata(name, access, superIndex < 0 ? null : strings[superIndex], Arrays.asList(interfaces), annotations));
+			}
+			return metadata;
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the number of elements of a table, checking it against the length of the index file so that a corrupt
+	 * count can't allocate more than the file could hold
+	 * @param length The length of the index file
+	 * @param minSize The minimum size of an element
+	 */
+	private static int readCount(DataInput in, long length, int minSize) throws IOException {
+		int count = in.readInt();
+		if (count < 0 || count > length / minSize) {
+			throw new IOException("Invalid count " + count + " in index file of " + length + " bytes");
+		}
+		return count;
+	}
+
+	private static void write(File file, Fingerprint fingerprint, List<ClassMetadata> metadata) {
+		Map<String, Integer> strings = new LinkedHashMap<>();
+		for (ClassMetadata m : metadata) {
+			strings.putIfAbsent(m.name(), strings.size());
+			if (m.superName() != null) {
+				strings.putIfAbsent(m.superName(), strings.size());
+			}
+			for (String s : m.interfaces()) {
+				strings.putIfAbsent(s, strings.size());
+			}
+			for (String s : m.annotations()) {
+				strings.putIfAbsent(s, strings.size());
+			}
+		}
+
+		File temp = null;
+		try {
+			File parent = file.getAbsoluteFile().getParentFile();
+			parent.mkdirs();
+			temp = File.createTempFile(file.getName(), ".tmp", parent);
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeByte(VERSION);
+				fingerprint.write(out);
+				out.writeInt(strings.size());
+				for (String s : strings.keySet()) {
+					out.writeUTF(s);
+				}
+				out.writeInt(metadata.size());
+				for (ClassMetadata m : metadata) {
+					out.writeInt(strings.get(m.name()));
+					out.writeShort(m.access());
+					out.writeInt(m.superName() == null ? -1 : strings.get(m.superName()));
+					out.writeShort(m.interfaces().size());
+					for (String s : m.interfaces()) {
+						out.writeInt(strings.get(s));
+					}
+					out.writeShort(m.annotations().size());
+					for (String s : m.annotations()) {
+						out.writeInt(strings.get(s));
+					}
+				}
+			}
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			if (temp != null) {
+				temp.delete();
+			}
+		}
+	}
+
+	private static class Fingerprint {
+
+		private final String path;
+		private final long size;
+		private final long modified;
+		private final long hash;
+
+		private Fingerprint(String path, long size, long modified, long hash) {
+			this.path = path;
+			this.size = size;
+			this.modified = modified;
+			this.hash = hash;
+		}
+
+		private static Fingerprint read(DataInput in) throws IOException {
+			return new Fingerprint(in.readUTF(), in.readLong(), in.readLong(), in.readLong());
+		}
+
+		private void write(DataOutput out) throws IOException {
+			out.writeUTF(path);
+			out.writeLong(size);
+			out.writeLong(modified);
+			out.writeLong(hash);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+
+			Fingerprint that = (Fingerprint) o;
+
+			return size == that.size && modified == that.modified && hash == that.hash && path.equals(that.path);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(path, size, modified, hash);
+		}
+
+	}
+
+}
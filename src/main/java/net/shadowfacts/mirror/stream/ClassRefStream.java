@@ -0,0 +1,482 @@
+package net.shadowfacts.mirror.stream;
+
+import net.shadowfacts.mirror.Mirror;
+import net.shadowfacts.mirror.scanner.cls.ClassMetadata;
+import net.shadowfacts.mirror.scanner.cls.ClassRef;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * A wrapper for a stream of {@link ClassRef}s that provides helper operations. The filters only look at the class
+ * file metadata, so classes are not loaded until {@link #load()} is called, and then only the ones that are left
+ *
+ * @author shadowfacts
+ *
+ * @see net.shadowfacts.mirror.Mirror#ofAllRefsInPackage(String)
+ * @see net.shadowfacts.mirror.Mirror#ofAllRefsInJar(java.io.File, ClassLoader)
+ */
+public class ClassRefStream implements Stream<ClassRef> {
+
+	private Stream<ClassRef> underlying;
+
+	/**
+	 * Creates a new class reference stream based on the given underlying stream
+	 * @param underlying The underlying stream to use for all stream operations
+	 */
+	public ClassRefStream(Stream<ClassRef> underlying) {
+		this.underlying = underlying;
+	}
+
+	/**
+	 * Loads the classes that are left in this stream, without initializing them
+	 * @return The stream of mirror classes
+	 */
+	public ClassStream load() {
+		return Mirror.ofAllUnwrapped(map(ClassRef::load));
+	}
+
+	/**
+	 * Maps this stream to the metadata of the classes
+	 * @return The stream of metadata
+	 */
+	public Stream<ClassMetadata> metadata() {
+		return map(ClassRef::metadata);
+	}
+
+	/**
+	 * Filters this stream by the metadata of the class
+	 * @param predicate The predicate to test the metadata with
+	 * @return The filtered stream
+	 */
+	public ClassRefStream filterMetadata(Predicate<ClassMetadata> predicate) {
+		return filter(ref -> predicate.test(ref.metadata()));
+	}
+
+	/**
+	 * Filters this stream by the binary name of the class
+	 * @param predicate The predicate to test the name with
+	 * @return The filtered stream
+	 */
+	public ClassRefStream filterName(Predicate<String> predicate) {
+		return filter(ref -> predicate.test(ref.name()));
+	}
+
+	/**
+	 * Filters this stream by if the class is directly in the given package
+	 * @param thePackage The name of the package
+	 * @return The filtered stream
+	 */
+	public ClassRefStream inPackage(String thePackage) {
+		return filterMetadata(m -> m.packageName().equals(thePackage));
+	}
+
+	/**
+	 * Filters this stream by if the class directly extends the given class
+	 * @param superName The binary name of the super-class
+	 * @return The filtered stream
+	 */
+	public ClassRefStream extendsClass(String superName) {
+		return filterMetadata(m -> superName.equals(m.superName()));
+	}
+
+	/**
+	 * Filters this stream by if the class directly extends the given class
+	 * @param superClass The super-class
+	 * @return The filtered stream
+	 */
+	public ClassRefStream extendsClass(Class<?> superClass) {
+		return extendsClass(superClass.getName());
+	}
+
+	/**
+	 * Filters this stream by if the class directly implements the given interface
+	 * @param theInterface The binary name of the interface
+	 * @return The filtered stream
+	 */
+	public ClassRefStream implementsInterface(String theInterface) {
+		return filterMetadata(m -> m.interfaces().contains(theInterface));
+	}
+
+	/**
+	 * Filters this stream by if the class directly implements the given interface
+	 * @param theInterface The interface
+	 * @return The filtered stream
+	 */
+	public ClassRefStream implementsInterface(Class<?> theInterface) {
+		return implementsInterface(theInterface.getName());
+	}
+
+	/**
+	 * Filters this stream by if the class has the given annotation
+	 * @param annotation The binary name of the annotation type
+	 * @return The filtered stream
+	 */
+	public ClassRefStream hasAnnotation(String annotation) {
+		return filterMetadata(m -> m.hasAnnotation(annotation));
+	}
+
+	/**
+	 * Filters this stream by if the class has the given annotation
+	 * @param annotation The annotation type
+	 * @return The filtered stream
+	 */
+	public ClassRefStream hasAnnotation(Class<? extends Annotation> annotation) {
+		return hasAnnotation(annotation.getName());
+	}
+
+	/**
+	 * Filters this stream by if the class is an interface
+	 * @return The filtered stream
+	 */
+	public ClassRefStream isInterface() {
+		return filterMetadata(ClassMetadata::isInterface);
+	}
+
+	/**
+	 * Filters this stream by if the class is not an interface
+	 * @return The filtered stream
+	 */
+	public ClassRefStream isNotInterface() {
+		return filterMetadata(m -> !m.isInterface());
+	}
+
+	/**
+	 * Filters this stream by if the class is an inner class
+	 * @return The filtered stream
+	 */
+	public ClassRefStream isInner() {
+		return filterMetadata(ClassMetadata::isInner);
+	}
+
+	/**
+	 * Filters this stream by if the class is not an inner class
+	 * @return The filtered stream
+	 */
+	public ClassRefStream isNotInner() {
+		return filterMetadata(m -> !m.isInner());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRefStream filter(Predicate<? super ClassRef> predicate) {
+		return new ClassRefStream(underlying.filter(predicate));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> Stream<R> map(Function<? super ClassRef, ? extends R> mapper) {
+		return underlying.map(mapper);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IntStream mapToInt(ToIntFunction<? super ClassRef> mapper) {
+		return underlying.mapToInt(mapper);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LongStream mapToLong(ToLongFunction<? super ClassRef> mapper) {
+		return underlying.mapToLong(mapper);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public DoubleStream mapToDouble(ToDoubleFunction<? super ClassRef> mapper) {
+		return underlying.mapToDouble(mapper);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> Stream<R> flatMap(Function<? super ClassRef, ? extends Stream<? extends R>> mapper) {
+		return underlying.flatMap(mapper);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IntStream flatMapToInt(Function<? super ClassRef, ? extends IntStream> mapper) {
+		return underlying.flatMapToInt(mapper);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LongStream flatMapToLong(Function<? super ClassRef, ? extends LongStream> mapper) {
+		return underlying.flatMapToLong(mapper);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public DoubleStream flatMapToDouble(Function<? super ClassRef, ? extends DoubleStream> mapper) {
+		return underlying.flatMapToDouble(mapper);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRefStream distinct() {
+		return new ClassRefStream(underlying.distinct());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRefStream sorted() {
+		return new ClassRefStream(underlying.sorted());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRefStream sorted(Comparator<? super ClassRef> comparator) {
+		return new ClassRefStream(underlying.sorted(comparator));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRefStream peek(Consumer<? super ClassRef> action) {
+		return new ClassRefStream(underlying.peek(action));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRefStream limit(long maxSize) {
+		return new ClassRefStream(underlying.limit(maxSize));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRefStream skip(long n) {
+		return new ClassRefStream(underlying.skip(n));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void forEach(Consumer<? super ClassRef> action) {
+		underlying.forEach(action);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void forEachOrdered(Consumer<? super ClassRef> action) {
+		underlying.forEachOrdered(action);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object[] toArray() {
+		return underlying.toArray();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <A> A[] toArray(IntFunction<A[]> generator) {
+		return underlying.toArray(generator);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRef reduce(ClassRef identity, BinaryOperator<ClassRef> accumulator) {
+		return underlying.reduce(identity, accumulator);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Optional<ClassRef> reduce(BinaryOperator<ClassRef> accumulator) {
+		return underlying.reduce(accumulator);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <U> U reduce(U identity, BiFunction<U, ? super ClassRef, U> accumulator, BinaryOperator<U> combiner) {
+		return underlying.reduce(identity, accumulator, combiner);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super ClassRef> accumulator, BiConsumer<R, R> combiner) {
+		return underlying.collect(supplier, accumulator, combiner);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R, A> R collect(Collector<? super ClassRef, A, R> collector) {
+		return underlying.collect(collector);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Optional<ClassRef> min(Comparator<? super ClassRef> comparator) {
+		return underlying.min(comparator);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Optional<ClassRef> max(Comparator<? super ClassRef> comparator) {
+		return underlying.max(comparator);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long count() {
+		return underlying.count();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean anyMatch(Predicate<? super ClassRef> predicate) {
+		return underlying.anyMatch(predicate);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean allMatch(Predicate<? super ClassRef> predicate) {
+		return underlying.allMatch(predicate);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean noneMatch(Predicate<? super ClassRef> predicate) {
+		return underlying.noneMatch(predicate);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Optional<ClassRef> findFirst() {
+		return underlying.findFirst();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Optional<ClassRef> findAny() {
+		return underlying.findAny();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterator<ClassRef> iterator() {
+		return underlying.iterator();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Spliterator<ClassRef> spliterator() {
+		return underlying.spliterator();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isParallel() {
+		return underlying.isParallel();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRefStream sequential() {
+		return new ClassRefStream(underlying.sequential());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRefStream parallel() {
+		return new ClassRefStream(underlying.parallel());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRefStream unordered() {
+		return new ClassRefStream(underlying.unordered());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ClassRefStream onClose(Runnable closeHandler) {
+		return new ClassRefStream(underlying.onClose(closeHandler));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() {
+		underlying.close();
+	}
+
+}
@@ -107,11 +107,11 @@ public class ClassStream implements Stream<MirrorClass<?>> {
 	}
 
 	/**
-	 * Maps this stream to each class' super-class
+	 * Maps this stream to each class' super-class. Classes that don't have a super-class are dropped
 	 * @return The stream of super-classes
 	 */
 	public ClassStream mapToSuperClass() {
-		return new ClassStream(map(MirrorClass::getSuperClass));
+		return new ClassStream(this.<MirrorClass<?>>map(MirrorClass::getSuperClass).filter(Objects::nonNull));
 	}
 
 	/**
@@ -138,8 +138,29 @@ public class ClassStream implements Stream<MirrorClass<?>> {
 	 * @return The mapped stream of annotations
 	 */
 	public <A extends Annotation> Stream<A> getAnnotation(Class<A> clazz) {
-		return hasAnnotation(clazz)
-				.map(c -> c.getAnnotation(clazz));
+		return map(c -> c.getAnnotation(clazz))
+				.filter(Objects::nonNull);
+	}
+
+	/**
+	 * Filters this stream by if the class has the given annotation directly, in a repeatable container, or as a meta-annotation
+	 * @param clazz The annotation class
+	 * @return The filtered stream
+	 */
+	public ClassStream hasMetaAnnotation(Class<? extends Annotation> clazz) {
+		return filter(c -> c.hasMetaAnnotation(clazz));
+	}
+
+	/**
+	 * Maps this stream to the given annotation found on each class by {@link MirrorClass#findMergedAnnotation(Class)}, excluding elements
+	 * where it wasn't found
+	 * @param clazz The annotation class
+	 * @param <A> The annotation type
+	 * @return The stream of annotations
+	 */
+	public <A extends Annotation> Stream<A> findMergedAnnotation(Class<A> clazz) {
+		return map(c -> c.findMergedAnnotation(clazz))
+				.filter(Objects::nonNull);
 	}
 
 	/**
@@ -5,6 +5,7 @@ import net.shadowfacts.mirror.scanner.*;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.*;
@@ -23,12 +24,40 @@ public class FieldStream implements Stream<MirrorField> {
 
 	private Stream<MirrorField> underlying;
 
+	/**
+	 * The modifiers that every element must have, and the modifiers that no element may have. The modifier filters
+	 * only update these, and they are checked with a single filter once another operation is applied, see {@link #stream()}
+	 */
+	private final int required;
+	private final int forbidden;
+
 	/**
 	 * Creates a new field stream based on the given underlying stream
 	 * @param underlying The underlying stream to use for all stream operations
 	 */
 	public FieldStream(Stream<MirrorField> underlying) {
+		this(underlying, 0, 0);
+	}
+
+	private FieldStream(Stream<MirrorField> underlying, int required, int forbidden) {
 		this.underlying = underlying;
+		this.required = required;
+		this.forbidden = forbidden;
+	}
+
+	/**
+	 * @return The underlying stream, filtered by the pending modifier masks
+	 */
+	private Stream<MirrorField> stream() {
+		if (required == 0 && forbidden == 0) {
+			return underlying;
+		}
+		int required = this.required;
+		int forbidden = this.forbidden;
+		return underlying.filter(f -> {
+			int modifiers = f.modifiers();
+			return (modifiers & required) == required && (modifiers & forbidden) == 0;
+		});
 	}
 
 	/**
@@ -65,6 +94,36 @@ public class FieldStream implements Stream<MirrorField> {
 		return map(f -> f.get(instance));
 	}
 
+	/**
+	 * Maps this stream of {@code int} fields to their values on the given instance without boxing
+	 * @see MirrorField#getInt(Object)
+	 * @param instance The instance to retrieve the field values from. Use {@code null} if the field is static
+	 * @return The mapped stream
+	 */
+	public IntStream getAsInt(Object instance) {
+		return mapToInt(f -> f.getInt(instance));
+	}
+
+	/**
+	 * Maps this stream of {@code long} fields to their values on the given instance without boxing
+	 * @see MirrorField#getLong(Object)
+	 * @param instance The instance to retrieve the field values from. Use {@code null} if the field is static
+	 * @return The mapped stream
+	 */
+	public LongStream getAsLong(Object instance) {
+		return mapToLong(f -> f.getLong(instance));
+	}
+
+	/**
+	 * Maps this stream of {@code double} fields to their values on the given instance without boxing
+	 * @see MirrorField#getDouble(Object)
+	 * @param instance The instance to retrieve the field values from. Use {@code null} if the field is static
+	 * @return The mapped stream
+	 */
+	public DoubleStream getAsDouble(Object instance) {
+		return mapToDouble(f -> f.getDouble(instance));
+	}
+
 	/**
 	 * Maps this stream of fields to their values on the given instance and converts them to an array
 	 * @param instance The instance to retrieve the field alvues from. Use {@code null} if the field is static
@@ -93,13 +152,35 @@ public class FieldStream implements Stream<MirrorField> {
 	}
 
 	/**
-	 * Maps this stream of fields to the given annotations on the fields
+	 * Maps this stream of fields to the given annotations on the fields, excluding fields that don't have the annotation
 	 * @param clazz The annotation class
 	 * @param <A> The annotation type
 	 * @return The stream of annotations
 	 */
 	public <A extends Annotation> Stream<A> getAnnotation(Class<A> clazz) {
-		return map(f -> f.getAnnotation(clazz));
+		return map(f -> f.getAnnotation(clazz))
+				.filter(Objects::nonNull);
+	}
+
+	/**
+	 * Filters this stream by if the field has the given annotation directly, in a repeatable container, or as a meta-annotation
+	 * @param clazz The annotation class
+	 * @return The filtered stream
+	 */
+	public FieldStream hasMetaAnnotation(Class<? extends Annotation> clazz) {
+		return filter(f -> f.hasMetaAnnotation(clazz));
+	}
+
+	/**
+	 * Maps this stream to the given annotation found on each field by {@link MirrorField#findMergedAnnotation(Class)}, excluding elements
+	 * where it wasn't found
+	 * @param clazz The annotation class
+	 * @param <A> The annotation type
+	 * @return The stream of annotations
+	 */
+	public <A extends Annotation> Stream<A> findMergedAnnotation(Class<A> clazz) {
+		return map(f -> f.findMergedAnnotation(clazz))
+				.filter(Objects::nonNull);
 	}
 
 	/**
@@ -107,7 +188,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 * @return The filtered stream
 	 */
 	public FieldStream isStatic() {
-		return filter(MirrorField::isStatic);
+		return modifiers(Modifier.STATIC, 0);
 	}
 
 	/**
@@ -115,7 +196,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 * @return The filtered stream
 	 */
 	public FieldStream isNotStatic() {
-		return filter(MirrorField::isNotStatic);
+		return modifiers(0, Modifier.STATIC);
 	}
 
 	/**
@@ -123,7 +204,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 * @return The filtered stream
 	 */
 	public FieldStream isFinal() {
-		return filter(MirrorField::isFinal);
+		return modifiers(Modifier.FINAL, 0);
 	}
 
 	/**
@@ -131,7 +212,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 * @return The filtered stream
 	 */
 	public FieldStream isNotFinal() {
-		return filter(MirrorField::isNotFinal);
+		return modifiers(0, Modifier.FINAL);
 	}
 
 	/**
@@ -139,7 +220,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 * @return The filtered stream
 	 */
 	public FieldStream isPublic() {
-		return filter(MirrorField::isPublic);
+		return modifiers(Modifier.PUBLIC, 0);
 	}
 
 	/**
@@ -147,7 +228,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 * @return The filtered stream
 	 */
 	public FieldStream isProtected() {
-		return filter(MirrorField::isProtected);
+		return modifiers(Modifier.PROTECTED, 0);
 	}
 
 	/**
@@ -155,7 +236,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 * @return The filtered stream
 	 */
 	public FieldStream isPrivate() {
-		return filter(MirrorField::isPrivate);
+		return modifiers(Modifier.PRIVATE, 0);
 	}
 
 	/**
@@ -164,16 +245,31 @@ public class FieldStream implements Stream<MirrorField> {
 	 * @return The filtered stream
 	 */
 	public FieldStream hasModifier(int modifier) {
-		return filter(f -> f.hasModifier(modifier));
+		if (Integer.bitCount(modifier) != 1) {
+			return filter(f -> f.hasModifier(modifier));
+		}
+		return modifiers(modifier, 0);
+	}
+
+	/**
+	 * Filters this stream by if the field has all the required modifiers and none of the forbidden ones. Consecutive
+	 * modifier filters are combined, so that each element is only tested once
+	 * @param required The modifiers each field must have
+	 * @param forbidden The modifiers each field must not have
+	 * @return The filtered stream
+	 */
+	public FieldStream modifiers(int required, int forbidden) {
+		return new FieldStream(underlying, this.required | required, this.forbidden | forbidden);
 	}
 
 	/**
-	 * Sets each field in this stream to be accessible
+	 * Sets each field in this stream to be accessible. Shared mirrors are replaced by the private copies returned by
+	 * {@link MirrorField#setAccessible(boolean)}
 	 * @param accessible If the field is accessible
 	 * @return The stream
 	 */
 	public FieldStream setAccessible(boolean accessible) {
-		return peek(f -> f.setAccessible(accessible));
+		return new FieldStream(stream().map(f -> f.setAccessible(accessible)));
 	}
 
 	/**
@@ -181,7 +277,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public FieldStream filter(Predicate<? super MirrorField> predicate) {
-		return new FieldStream(underlying.filter(predicate));
+		return new FieldStream(stream().filter(predicate));
 	}
 
 	/**
@@ -189,7 +285,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public <R> Stream<R> map(Function<? super MirrorField, ? extends R> mapper) {
-		return underlying.map(mapper);
+		return stream().map(mapper);
 	}
 
 	/**
@@ -197,7 +293,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public IntStream mapToInt(ToIntFunction<? super MirrorField> mapper) {
-		return underlying.mapToInt(mapper);
+		return stream().mapToInt(mapper);
 	}
 
 	/**
@@ -205,7 +301,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public LongStream mapToLong(ToLongFunction<? super MirrorField> mapper) {
-		return underlying.mapToLong(mapper);
+		return stream().mapToLong(mapper);
 	}
 
 	/**
@@ -213,7 +309,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public DoubleStream mapToDouble(ToDoubleFunction<? super MirrorField> mapper) {
-		return underlying.mapToDouble(mapper);
+		return stream().mapToDouble(mapper);
 	}
 
 	/**
@@ -221,7 +317,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public <R> Stream<R> flatMap(Function<? super MirrorField, ? extends Stream<? extends R>> mapper) {
-		return underlying.flatMap(mapper);
+		return stream().flatMap(mapper);
 	}
 
 	/**
@@ -229,7 +325,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public IntStream flatMapToInt(Function<? super MirrorField, ? extends IntStream> mapper) {
-		return underlying.flatMapToInt(mapper);
+		return stream().flatMapToInt(mapper);
 	}
 
 	/**
@@ -237,7 +333,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public LongStream flatMapToLong(Function<? super MirrorField, ? extends LongStream> mapper) {
-		return underlying.flatMapToLong(mapper);
+		return stream().flatMapToLong(mapper);
 	}
 
 	/**
@@ -245,7 +341,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public DoubleStream flatMapToDouble(Function<? super MirrorField, ? extends DoubleStream> mapper) {
-		return underlying.flatMapToDouble(mapper);
+		return stream().flatMapToDouble(mapper);
 	}
 
 	/**
@@ -253,7 +349,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public FieldStream distinct() {
-		return new FieldStream(underlying.distinct());
+		return new FieldStream(stream().distinct());
 	}
 
 	/**
@@ -261,7 +357,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public FieldStream sorted() {
-		return new FieldStream(underlying.sorted());
+		return new FieldStream(stream().sorted());
 	}
 
 	/**
@@ -269,7 +365,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public FieldStream sorted(Comparator<? super MirrorField> comparator) {
-		return new FieldStream(underlying.sorted(comparator));
+		return new FieldStream(stream().sorted(comparator));
 	}
 
 	/**
@@ -277,7 +373,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public FieldStream peek(Consumer<? super MirrorField> action) {
-		return new FieldStream(underlying.peek(action));
+		return new FieldStream(stream().peek(action));
 	}
 
 	/**
@@ -285,7 +381,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public FieldStream limit(long maxSize) {
-		return new FieldStream(underlying.limit(maxSize));
+		return new FieldStream(stream().limit(maxSize));
 	}
 
 	/**
@@ -293,7 +389,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public FieldStream skip(long n) {
-		return new FieldStream(underlying.skip(n));
+		return new FieldStream(stream().skip(n));
 	}
 
 	/**
@@ -301,7 +397,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public void forEach(Consumer<? super MirrorField> action) {
-		underlying.forEach(action);
+		stream().forEach(action);
 	}
 
 	/**
@@ -309,7 +405,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public void forEachOrdered(Consumer<? super MirrorField> action) {
-		underlying.forEachOrdered(action);
+		stream().forEachOrdered(action);
 	}
 
 	/**
@@ -317,7 +413,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public Object[] toArray() {
-		return underlying.toArray();
+		return stream().toArray();
 	}
 
 	/**
@@ -325,7 +421,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public <A> A[] toArray(IntFunction<A[]> generator) {
-		return underlying.toArray(generator);
+		return stream().toArray(generator);
 	}
 
 	/**
@@ -333,7 +429,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public MirrorField reduce(MirrorField identity, BinaryOperator<MirrorField> accumulator) {
-		return underlying.reduce(identity, accumulator);
+		return stream().reduce(identity, accumulator);
 	}
 
 	/**
@@ -341,7 +437,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public Optional<MirrorField> reduce(BinaryOperator<MirrorField> accumulator) {
-		return underlying.reduce(accumulator);
+		return stream().reduce(accumulator);
 	}
 
 	/**
@@ -349,7 +445,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public <U> U reduce(U identity, BiFunction<U, ? super MirrorField, U> accumulator, BinaryOperator<U> combiner) {
-		return underlying.reduce(identity, accumulator, combiner);
+		return stream().reduce(identity, accumulator, combiner);
 	}
 
 	/**
@@ -357,7 +453,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super MirrorField> accumulator, BiConsumer<R, R> combiner) {
-		return underlying.collect(supplier, accumulator, combiner);
+		return stream().collect(supplier, accumulator, combiner);
 	}
 
 	/**
@@ -365,7 +461,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public <R, A> R collect(Collector<? super MirrorField, A, R> collector) {
-		return underlying.collect(collector);
+		return stream().collect(collector);
 	}
 
 	/**
@@ -373,7 +469,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public Optional<MirrorField> min(Comparator<? super MirrorField> comparator) {
-		return underlying.min(comparator);
+		return stream().min(comparator);
 	}
 
 	/**
@@ -381,7 +477,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public Optional<MirrorField> max(Comparator<? super MirrorField> comparator) {
-		return underlying.max(comparator);
+		return stream().max(comparator);
 	}
 
 	/**
@@ -389,7 +485,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public long count() {
-		return underlying.count();
+		return stream().count();
 	}
 
 	/**
@@ -397,7 +493,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public boolean anyMatch(Predicate<? super MirrorField> predicate) {
-		return underlying.anyMatch(predicate);
+		return stream().anyMatch(predicate);
 	}
 
 	/**
@@ -405,7 +501,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public boolean allMatch(Predicate<? super MirrorField> predicate) {
-		return underlying.allMatch(predicate);
+		return stream().allMatch(predicate);
 	}
 
 	/**
@@ -413,7 +509,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public boolean noneMatch(Predicate<? super MirrorField> predicate) {
-		return underlying.noneMatch(predicate);
+		return stream().noneMatch(predicate);
 	}
 
 	/**
@@ -421,7 +517,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public Optional<MirrorField> findFirst() {
-		return underlying.findFirst();
+		return stream().findFirst();
 	}
 
 	/**
@@ -429,7 +525,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public Optional<MirrorField> findAny() {
-		return underlying.findAny();
+		return stream().findAny();
 	}
 
 	/**
@@ -437,7 +533,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public Iterator<MirrorField> iterator() {
-		return underlying.iterator();
+		return stream().iterator();
 	}
 
 	/**
@@ -445,7 +541,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public Spliterator<MirrorField> spliterator() {
-		return underlying.spliterator();
+		return stream().spliterator();
 	}
 
 	/**
@@ -461,7 +557,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public FieldStream sequential() {
-		return new FieldStream(underlying.sequential());
+		return new FieldStream(stream().sequential());
 	}
 
 	/**
@@ -469,7 +565,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public FieldStream parallel() {
-		return new FieldStream(underlying.parallel());
+		return new FieldStream(stream().parallel());
 	}
 
 	/**
@@ -477,7 +573,7 @@ public class FieldStream implements Stream<MirrorField> {
 	 */
 	@Override
 	public FieldStream unordered() {
-		return new FieldStream(underlying.unordered());
+		return new FieldStream(stream().unordered());
 	}
 
 	/**
@@ -1,10 +1,13 @@
 package net.shadowfacts.mirror.stream;
 
+import net.shadowfacts.mirror.Mirror;
+import net.shadowfacts.mirror.MirrorClass;
 import net.shadowfacts.mirror.MirrorMethod;
 import net.shadowfacts.mirror.scanner.*;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.*;
@@ -23,12 +26,40 @@ public class MethodStream implements Stream<MirrorMethod> {
 
 	private Stream<MirrorMethod> underlying;
 
+	/**
+	 * The modifiers that every element must have, and the modifiers that no element may have. The modifier filters
+	 * only update these, and they are checked with a single filter once another operation is applied, see {@link #stream()}
+	 */
+	private final int required;
+	private final int forbidden;
+
 	/**
 	 * Creates a new method stream based on the given underlying stream
 	 * @param underlying The underlying stream to use for all stream operations
 	 */
 	public MethodStream(Stream<MirrorMethod> underlying) {
+		this(underlying, 0, 0);
+	}
+
+	private MethodStream(Stream<MirrorMethod> underlying, int required, int forbidden) {
 		this.underlying = underlying;
+		this.required = required;
+		this.forbidden = forbidden;
+	}
+
+	/**
+	 * @return The underlying stream, filtered by the pending modifier masks
+	 */
+	private Stream<MirrorMethod> stream() {
+		if (required == 0 && forbidden == 0) {
+			return underlying;
+		}
+		int required = this.required;
+		int forbidden = this.forbidden;
+		return underlying.filter(m -> {
+			int modifiers = m.modifiers();
+			return (modifiers & required) == required && (modifiers & forbidden) == 0;
+		});
 	}
 
 	/**
@@ -87,13 +118,35 @@ public class MethodStream implements Stream<MirrorMethod> {
 	}
 
 	/**
-	 * Maps this stream of methods given annotations on the methods
+	 * Maps this stream of methods to the given annotations on the methods, excluding methods that don't have the annotation
 	 * @param clazz The annotation class
 	 * @param <A> The annotation type
 	 * @return The mapped stream
 	 */
 	public <A extends Annotation> Stream<A> getAnnotation(Class<A> clazz) {
-		return map(m -> m.getAnnotation(clazz));
+		return map(m -> m.getAnnotation(clazz))
+				.filter(Objects::nonNull);
+	}
+
+	/**
+	 * Filters this stream by if the method has the given annotation directly, in a repeatable container, or as a meta-annotation
+	 * @param clazz The annotation class
+	 * @return The filtered stream
+	 */
+	public MethodStream hasMetaAnnotation(Class<? extends Annotation> clazz) {
+		return filter(m -> m.hasMetaAnnotation(clazz));
+	}
+
+	/**
+	 * Maps this stream to the given annotation found on each method by {@link MirrorMethod#findMergedAnnotation(Class)}, excluding elements
+	 * where it wasn't found
+	 * @param clazz The annotation class
+	 * @param <A> The annotation type
+	 * @return The stream of annotations
+	 */
+	public <A extends Annotation> Stream<A> findMergedAnnotation(Class<A> clazz) {
+		return map(m -> m.findMergedAnnotation(clazz))
+				.filter(Objects::nonNull);
 	}
 
 	/**
@@ -101,7 +154,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 * @return The filtered stream
 	 */
 	public MethodStream isStatic() {
-		return filter(MirrorMethod::isStatic);
+		return modifiers(Modifier.STATIC, 0);
 	}
 
 	/**
@@ -109,7 +162,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 * @return The filtered stream
 	 */
 	public MethodStream isNotStatic() {
-		return filter(MirrorMethod::isNotStatic);
+		return modifiers(0, Modifier.STATIC);
 	}
 
 	/**
@@ -117,7 +170,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 * @return The filtered stream
 	 */
 	public MethodStream isAbstract() {
-		return filter(MirrorMethod::isAbstract);
+		return modifiers(Modifier.ABSTRACT, 0);
 	}
 
 	/**
@@ -125,7 +178,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 * @return The filtered stream
 	 */
 	public MethodStream isNotAbstract() {
-		return filter(MirrorMethod::isNotAbstract);
+		return modifiers(0, Modifier.ABSTRACT);
 	}
 
 	/**
@@ -133,7 +186,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 * @return The filtered stream
 	 */
 	public MethodStream isPublic() {
-		return filter(MirrorMethod::isPublic);
+		return modifiers(Modifier.PUBLIC, 0);
 	}
 
 	/**
@@ -141,7 +194,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 * @return The filtered stream
 	 */
 	public MethodStream isProtected() {
-		return filter(MirrorMethod::isProtected);
+		return modifiers(Modifier.PROTECTED, 0);
 	}
 
 	/**
@@ -149,7 +202,50 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 * @return The filtered stream
 	 */
 	public MethodStream isPrivate() {
-		return filter(MirrorMethod::isPrivate);
+		return modifiers(Modifier.PRIVATE, 0);
+	}
+
+	/**
+	 * Filters this stream by if the method is a bridge method
+	 * @return The filtered stream
+	 */
+	public MethodStream isBridge() {
+		return filter(MirrorMethod::isBridge);
+	}
+
+	/**
+	 * Filters this stream by if the method is not a bridge method
+	 * @return The filtered stream
+	 */
+	public MethodStream isNotBridge() {
+		return filter(MirrorMethod::isNotBridge);
+	}
+
+	/**
+	 * Filters this stream by if the method is synthetic
+	 * @return The filtered stream
+	 */
+	public MethodStream isSynthetic() {
+		return filter(MirrorMethod::isSynthetic);
+	}
+
+	/**
+	 * Filters this stream by if the method is not synthetic
+	 * @return The filtered stream
+	 */
+	public MethodStream isNotSynthetic() {
+		return filter(MirrorMethod::isNotSynthetic);
+	}
+
+	/**
+	 * Filters this stream by if the method is the most specific implementation of its signature in the given class
+	 * @see MirrorClass#isImplementation(MirrorMethod)
+	 * @param clazz The class
+	 * @return The filtered stream
+	 */
+	public MethodStream isImplementationIn(Class<?> clazz) {
+		MirrorClass<?> mirror = Mirror.of(clazz);
+		return filter(mirror::isImplementation);
 	}
 
 	/**
@@ -158,16 +254,31 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 * @return The filtered stream
 	 */
 	public MethodStream hasModifier(int modifier) {
-		return filter(f -> f.hasModifier(modifier));
+		if (Integer.bitCount(modifier) != 1) {
+			return filter(m -> m.hasModifier(modifier));
+		}
+		return modifiers(modifier, 0);
+	}
+
+	/**
+	 * Filters this stream by if the method has all the required modifiers and none of the forbidden ones. Consecutive
+	 * modifier filters are combined, so that each element is only tested once
+	 * @param required The modifiers each method must have
+	 * @param forbidden The modifiers each method must not have
+	 * @return The filtered stream
+	 */
+	public MethodStream modifiers(int required, int forbidden) {
+		return new MethodStream(underlying, this.required | required, this.forbidden | forbidden);
 	}
 
 	/**
-	 * Sets each method in this stream to be accessible
+	 * Sets each method in this stream to be accessible. Shared mirrors are replaced by the private copies returned by
+	 * {@link MirrorMethod#setAccessible(boolean)}
 	 * @param accessible If the method is accessible
 	 * @return The stream
 	 */
 	public MethodStream setAccessible(boolean accessible) {
-		return peek(f -> f.setAccessible(accessible));
+		return new MethodStream(stream().map(f -> f.setAccessible(accessible)));
 	}
 
 	/**
@@ -175,7 +286,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public MethodStream filter(Predicate<? super MirrorMethod> predicate) {
-		return new MethodStream(underlying.filter(predicate));
+		return new MethodStream(stream().filter(predicate));
 	}
 
 	/**
@@ -183,7 +294,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public <R> Stream<R> map(Function<? super MirrorMethod, ? extends R> mapper) {
-		return underlying.map(mapper);
+		return stream().map(mapper);
 	}
 
 	/**
@@ -191,7 +302,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public IntStream mapToInt(ToIntFunction<? super MirrorMethod> mapper) {
-		return underlying.mapToInt(mapper);
+		return stream().mapToInt(mapper);
 	}
 
 	/**
@@ -199,7 +310,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public LongStream mapToLong(ToLongFunction<? super MirrorMethod> mapper) {
-		return underlying.mapToLong(mapper);
+		return stream().mapToLong(mapper);
 	}
 
 	/**
@@ -207,7 +318,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public DoubleStream mapToDouble(ToDoubleFunction<? super MirrorMethod> mapper) {
-		return underlying.mapToDouble(mapper);
+		return stream().mapToDouble(mapper);
 	}
 
 	/**
@@ -215,7 +326,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public <R> Stream<R> flatMap(Function<? super MirrorMethod, ? extends Stream<? extends R>> mapper) {
-		return underlying.flatMap(mapper);
+		return stream().flatMap(mapper);
 	}
 
 	/**
@@ -223,7 +334,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public IntStream flatMapToInt(Function<? super MirrorMethod, ? extends IntStream> mapper) {
-		return underlying.flatMapToInt(mapper);
+		return stream().flatMapToInt(mapper);
 	}
 
 	/**
@@ -231,7 +342,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public LongStream flatMapToLong(Function<? super MirrorMethod, ? extends LongStream> mapper) {
-		return underlying.flatMapToLong(mapper);
+		return stream().flatMapToLong(mapper);
 	}
 
 	/**
@@ -239,7 +350,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public DoubleStream flatMapToDouble(Function<? super MirrorMethod, ? extends DoubleStream> mapper) {
-		return underlying.flatMapToDouble(mapper);
+		return stream().flatMapToDouble(mapper);
 	}
 
 	/**
@@ -247,7 +358,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public MethodStream distinct() {
-		return new MethodStream(underlying.distinct());
+		return new MethodStream(stream().distinct());
 	}
 
 	/**
@@ -255,7 +366,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public MethodStream sorted() {
-		return new MethodStream(underlying.sorted());
+		return new MethodStream(stream().sorted());
 	}
 
 	/**
@@ -263,7 +374,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public MethodStream sorted(Comparator<? super MirrorMethod> comparator) {
-		return new MethodStream(underlying.sorted(comparator));
+		return new MethodStream(stream().sorted(comparator));
 	}
 
 	/**
@@ -271,7 +382,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public MethodStream peek(Consumer<? super MirrorMethod> action) {
-		return new MethodStream(underlying.peek(action));
+		return new MethodStream(stream().peek(action));
 	}
 
 	/**
@@ -279,7 +390,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public MethodStream limit(long maxSize) {
-		return new MethodStream(underlying.limit(maxSize));
+		return new MethodStream(stream().limit(maxSize));
 	}
 
 	/**
@@ -287,7 +398,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public MethodStream skip(long n) {
-		return new MethodStream(underlying.skip(n));
+		return new MethodStream(stream().skip(n));
 	}
 
 	/**
@@ -295,7 +406,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public void forEach(Consumer<? super MirrorMethod> action) {
-		underlying.forEach(action);
+		stream().forEach(action);
 	}
 
 	/**
@@ -303,7 +414,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public void forEachOrdered(Consumer<? super MirrorMethod> action) {
-		underlying.forEachOrdered(action);
+		stream().forEachOrdered(action);
 	}
 
 	/**
@@ -311,7 +422,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public Object[] toArray() {
-		return underlying.toArray();
+		return stream().toArray();
 	}
 
 	/**
@@ -319,7 +430,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public <A> A[] toArray(IntFunction<A[]> generator) {
-		return underlying.toArray(generator);
+		return stream().toArray(generator);
 	}
 
 	/**
@@ -327,7 +438,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public MirrorMethod reduce(MirrorMethod identity, BinaryOperator<MirrorMethod> accumulator) {
-		return underlying.reduce(identity, accumulator);
+		return stream().reduce(identity, accumulator);
 	}
 
 	/**
@@ -335,7 +446,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public Optional<MirrorMethod> reduce(BinaryOperator<MirrorMethod> accumulator) {
-		return underlying.reduce(accumulator);
+		return stream().reduce(accumulator);
 	}
 
 	/**
@@ -343,7 +454,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public <U> U reduce(U identity, BiFunction<U, ? super MirrorMethod, U> accumulator, BinaryOperator<U> combiner) {
-		return underlying.reduce(identity, accumulator, combiner);
+		return stream().reduce(identity, accumulator, combiner);
 	}
 
 	/**
@@ -351,7 +462,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super MirrorMethod> accumulator, BiConsumer<R, R> combiner) {
-		return underlying.collect(supplier, accumulator, combiner);
+		return stream().collect(supplier, accumulator, combiner);
 	}
 
 	/**
@@ -359,7 +470,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public <R, A> R collect(Collector<? super MirrorMethod, A, R> collector) {
-		return underlying.collect(collector);
+		return stream().collect(collector);
 	}
 
 	/**
@@ -367,7 +478,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public Optional<MirrorMethod> min(Comparator<? super MirrorMethod> comparator) {
-		return underlying.min(comparator);
+		return stream().min(comparator);
 	}
 
 	/**
@@ -375,7 +486,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public Optional<MirrorMethod> max(Comparator<? super MirrorMethod> comparator) {
-		return underlying.max(comparator);
+		return stream().max(comparator);
 	}
 
 	/**
@@ -383,7 +494,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public long count() {
-		return underlying.count();
+		return stream().count();
 	}
 
 	/**
@@ -391,7 +502,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public boolean anyMatch(Predicate<? super MirrorMethod> predicate) {
-		return underlying.anyMatch(predicate);
+		return stream().anyMatch(predicate);
 	}
 
 	/**
@@ -399,7 +510,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public boolean allMatch(Predicate<? super MirrorMethod> predicate) {
-		return underlying.allMatch(predicate);
+		return stream().allMatch(predicate);
 	}
 
 	/**
@@ -407,7 +518,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public boolean noneMatch(Predicate<? super MirrorMethod> predicate) {
-		return underlying.noneMatch(predicate);
+		return stream().noneMatch(predicate);
 	}
 
 	/**
@@ -415,7 +526,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public Optional<MirrorMethod> findFirst() {
-		return underlying.findFirst();
+		return stream().findFirst();
 	}
 
 	/**
@@ -423,7 +534,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public Optional<MirrorMethod> findAny() {
-		return underlying.findAny();
+		return stream().findAny();
 	}
 
 	/**
@@ -431,7 +542,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public Iterator<MirrorMethod> iterator() {
-		return underlying.iterator();
+		return stream().iterator();
 	}
 
 	/**
@@ -439,7 +550,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public Spliterator<MirrorMethod> spliterator() {
-		return underlying.spliterator();
+		return stream().spliterator();
 	}
 
 	/**
@@ -455,7 +566,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public MethodStream sequential() {
-		return new MethodStream(underlying.sequential());
+		return new MethodStream(stream().sequential());
 	}
 
 	/**
@@ -463,7 +574,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public MethodStream parallel() {
-		return new MethodStream(underlying.parallel());
+		return new MethodStream(stream().parallel());
 	}
 
 	/**
@@ -471,7 +582,7 @@ public class MethodStream implements Stream<MirrorMethod> {
 	 */
 	@Override
 	public MethodStream unordered() {
-		return new MethodStream(underlying.unordered());
+		return new MethodStream(stream().unordered());
 	}
 
 	/**
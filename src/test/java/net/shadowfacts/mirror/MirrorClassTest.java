@@ -2,10 +2,13 @@ package net.shadowfacts.mirror;
 
 import org.junit.Test;
 
+import java.lang.annotation.Repeatable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -35,6 +38,30 @@ public class MirrorClassTest {
 		assertEquals(mirror.unwrap(), Test.class.getConstructor());
 	}
 
+	@org.junit.Test
+	public void testFindConstructor() throws ReflectiveOperationException {
+		assertEquals(Mirror.of(Test.class).findConstructor().get().unwrap(), Test.class.getConstructor());
+		assertSame(Mirror.of(Test.class).findConstructor().get(), Mirror.of(Test.class).constructor());
+		assertFalse(Mirror.of(Test.class).findConstructor(int.class).isPresent());
+		assertFalse(Mirror.of(Test.class).findConstructor(int.class).isPresent());
+	}
+
+	@org.junit.Test(expected = RuntimeException.class)
+	public void testMissingConstructor() {
+		Mirror.of(Test.class).constructor(String.class);
+	}
+
+	@org.junit.Test
+	public void testRepeatedMisses() {
+		MirrorClass<Test> mirror = Mirror.of(Test.class);
+		for (int i = 0; i < 3; i++) {
+			assertFalse(mirror.field("missing").isPresent());
+			assertFalse(mirror.declaredField("missing").isPresent());
+			assertFalse(mirror.method("missing").isPresent());
+			assertFalse(mirror.declaredMethod("missing").isPresent());
+		}
+	}
+
 	@org.junit.Test
 	public void testIsSubClassOf() {
 		MirrorClass<Test> mirror = Mirror.of(Test.class);
@@ -61,6 +88,19 @@ public class MirrorClassTest {
 		assertEquals(Mirror.of(Test2.class).getSuperClass().unwrap(), Test.class);
 	}
 
+	@org.junit.Test
+	public void testGetSuperClassOfObject() {
+		assertNull(Mirror.of(Object.class).getSuperClass());
+		assertNull(Mirror.of(Test3.class).getSuperClass());
+	}
+
+	@org.junit.Test
+	public void testInterned() {
+		assertSame(Mirror.of(Test.class), Mirror.of(Test.class));
+		assertSame(Mirror.of(Test2.class).getSuperClass(), Mirror.of(Test.class));
+		assertSame(Mirror.of(Test2.class).getInterfaces()[0], Mirror.of(Test3.class));
+	}
+
 	@org.junit.Test
 	public void testGetInterfaces() {
 		MirrorClass<Test2> mirror = Mirror.of(Test2.class);
@@ -101,6 +141,40 @@ public class MirrorClassTest {
 		assertEquals(fields.get(1), Test.class.getDeclaredField("f2"));
 	}
 
+	@org.junit.Test
+	public void testInternedMembers() {
+		MirrorField f1 = Mirror.of(Test.class).fields().findFirst().get();
+		assertSame(f1, Mirror.of(Test.class).declaredFields().filter(f -> f.name().equals("f1")).findFirst().get());
+		assertSame(f1, Mirror.of(Test2.class).fields().findFirst().get());
+
+		MirrorMethod m1 = Mirror.of(Test2.class).methods().filterDeclaringClass(Test.class).findFirst().get();
+		assertSame(m1, Mirror.of(Test.class).methods().filterDeclaringClass(Test.class).findFirst().get());
+	}
+
+	@org.junit.Test
+	public void testAccessibleIsNotShared() {
+		Test test = new Test();
+		MirrorField a = Mirror.of(Test.class).declaredField("f2").get().setAccessible(true);
+		MirrorField b = Mirror.of(Test.class).declaredField("f2").get();
+		assertNotSame(a, b);
+		assertEquals(a, b);
+		assertEquals(a.get(test), 0);
+		try {
+			b.get(test);
+			fail();
+		} catch (RuntimeException e) {
+			assertTrue(e.getCause() instanceof IllegalAccessException);
+		}
+
+		Mirror.of(Test.class).declaredMethod("m2").get().setAccessible(true).invoke(test);
+		try {
+			Mirror.of(Test.class).declaredMethods().filter(method -> method.name().equals("m2")).findFirst().get().invoke(test);
+			fail();
+		} catch (RuntimeException e) {
+			assertTrue(e.getCause() instanceof IllegalAccessException);
+		}
+	}
+
 	@org.junit.Test
 	public void testField() throws ReflectiveOperationException {
 		Optional<MirrorField> field = Mirror.of(Test.class)
@@ -153,6 +227,132 @@ public class MirrorClassTest {
 		assertEquals(method.get().unwrap(), Test.class.getDeclaredMethod("m2"));
 	}
 
+	@org.junit.Test
+	public void testFieldFallbackNames() throws ReflectiveOperationException {
+		Optional<MirrorField> field = Mirror.of(Test.class).field("a", "field_1234_a", "f1");
+		assertEquals(field.get().unwrap(), Test.class.getField("f1"));
+		assertFalse(Mirror.of(Test.class).field("a", "b").isPresent());
+		assertFalse(Mirror.of(Test.class).field("f2").isPresent());
+		assertSame(Mirror.of(Test.class).declaredField("f2").get(), Mirror.of(Test.class).declaredField("f2").get());
+	}
+
+	@org.junit.Test
+	public void testHiddenField() throws ReflectiveOperationException {
+		assertEquals(Mirror.of(Test4.class).field("f1").get().unwrap(), Test4.class.getField("f1"));
+	}
+
+	@org.junit.Test
+	public void testMethodFallbackNames() throws ReflectiveOperationException {
+		Optional<MirrorMethod> method = Mirror.of(Test.class).method(new String[]{"a", "func_1234_a", "m1"});
+		assertEquals(method.get().unwrap(), Test.class.getMethod("m1"));
+		assertFalse(Mirror.of(Test.class).method("m1", int.class).isPresent());
+		assertFalse(Mirror.of(Test.class).method("m2").isPresent());
+		assertTrue(Mirror.of(Test.class).declaredMethod(new String[]{"a", "m2"}).isPresent());
+	}
+
+	@org.junit.Test
+	public void testCovariantMethod() throws ReflectiveOperationException {
+		assertEquals(Mirror.of(Test6.class).method("self").get().unwrap(), Test6.class.getMethod("self"));
+		assertEquals(Mirror.of(Test6.class).declaredMethod("self").get().unwrap(), Test6.class.getDeclaredMethod("self"));
+	}
+
+	@org.junit.Test
+	public void testAllFields() throws ReflectiveOperationException {
+		List<Field> fields = Mirror.of(Test4.class)
+				.allFields()
+				.unwrap()
+				.collect(Collectors.toList());
+		assertEquals(fields, Arrays.asList(Test4.class.getField("f1"), Test.class.getField("f1"), Test.class.getDeclaredField("f2")));
+		assertSame(Mirror.of(Test4.class).allFields().findFirst().get(), Mirror.of(Test4.class).field("f1").get());
+		assertSame(Mirror.of(Test4.class).allFields().findFirst().get(), Mirror.of(Test4.class).allFields().findFirst().get());
+	}
+
+	@org.junit.Test
+	public void testAllMethods() throws ReflectiveOperationException {
+		List<Method> methods = Mirror.of(Test6.class)
+				.allMethods()
+				.unwrap()
+				.collect(Collectors.toList());
+		assertTrue(methods.contains(Test6.class.getMethod("self")));
+		assertFalse(methods.contains(Test5.class.getMethod("self")));
+		assertTrue(methods.contains(Object.class.getMethod("hashCode")));
+		assertEquals(methods.stream().filter(m -> m.getName().equals("hashCode")).count(), 1);
+
+		List<Method> inherited = Mirror.of(Test2.class)
+				.allMethods()
+				.unwrap()
+				.collect(Collectors.toList());
+		assertTrue(inherited.contains(Test.class.getDeclaredMethod("m2")));
+		assertTrue(inherited.contains(Test.class.getMethod("m1")));
+	}
+
+	@org.junit.Test
+	public void testAllMethodsDefaultOverride() throws ReflectiveOperationException {
+		List<Method> methods = Mirror.of(Test10.class)
+				.allMethods()
+				.filter(m -> m.name().equals("m"))
+				.unwrap()
+				.collect(Collectors.toList());
+		assertEquals(methods, Collections.singletonList(Test10I2.class.getMethod("m")));
+		assertEquals(Mirror.of(Test10.class).resolvedMethod("m").get().unwrap(), Test10I2.class.getMethod("m"));
+		assertSame(Mirror.of(Test10.class).allMethods().findFirst().get(), Mirror.of(Test10.class).allMethods().findFirst().get());
+	}
+
+	@org.junit.Test
+	public void testResolvedMethods() throws ReflectiveOperationException {
+		MirrorClass<Test6> mirror = Mirror.of(Test6.class);
+		MirrorMethod self = mirror.resolvedMethod("self").get();
+		assertEquals(self.unwrap(), Test6.class.getDeclaredMethod("self"));
+		assertFalse(self.isBridge());
+		assertTrue(mirror.isImplementation(self));
+		assertFalse(mirror.isImplementation(Mirror.of(Test5.class.getMethod("self"))));
+		assertEquals(mirror.overriddenMethods(self).unwrap().collect(Collectors.toList()), Collections.singletonList(Test5.class.getMethod("self")));
+		assertEquals(mirror.resolvedMethods().filter(m -> m.name().equals("self")).count(), 1);
+		assertEquals(mirror.allMethods().isImplementationIn(Test6.class).filter(m -> m.name().equals("self")).count(), 1);
+	}
+
+	@org.junit.Test
+	public void testResolvedBridgeMethod() throws ReflectiveOperationException {
+		MirrorClass<Test8> mirror = Mirror.of(Test8.class);
+		MirrorMethod compareTo = mirror.resolvedMethod("compareTo", Object.class).get();
+		assertEquals(compareTo.unwrap(), Test8.class.getMethod("compareTo", Test8.class));
+		assertTrue(mirror.overriddenMethods(compareTo).unwrap().anyMatch(Comparable.class.getMethod("compareTo", Object.class)::equals));
+		assertTrue(mirror.resolvedMethods().noneMatch(MirrorMethod::isBridge));
+	}
+
+	@org.junit.Test
+	public void testResolvedBridgeMethodOverloads() throws ReflectiveOperationException {
+		MirrorClass<Test11> mirror = Mirror.of(Test11.class);
+		assertEquals(mirror.resolvedMethod("m", Object.class).get().unwrap(), Test11.class.getMethod("m", String.class));
+		assertEquals(mirror.resolvedMethod("m", Integer.class).get().unwrap(), Test11.class.getMethod("m", Integer.class));
+		assertEquals(mirror.resolvedMethod("m", CharSequence.class).get().unwrap(), Test11.class.getMethod("m", CharSequence.class));
+		assertTrue(mirror.resolvedMethods().noneMatch(MirrorMethod::isBridge));
+	}
+
+	@org.junit.Test
+	public void testHasMetaAnnotation() {
+		MirrorClass<Test7> mirror = Mirror.of(Test7.class);
+		assertFalse(mirror.hasAnnotation(Marker.class));
+		assertTrue(mirror.hasMetaAnnotation(Marker.class));
+		assertTrue(mirror.hasMetaAnnotation(Stereotype.class));
+		assertTrue(mirror.hasMetaAnnotation(Composed.class));
+		assertTrue(mirror.hasMetaAnnotation(Tag.class));
+		assertTrue(mirror.hasMetaAnnotation(Tags.class));
+		assertFalse(mirror.hasMetaAnnotation(Annotation.class));
+		assertFalse(mirror.hasMetaAnnotation(Retention.class));
+		assertFalse(Mirror.of(Test.class).hasMetaAnnotation(Marker.class));
+	}
+
+	@org.junit.Test
+	public void testFindMergedAnnotation() {
+		MirrorClass<Test7> mirror = Mirror.of(Test7.class);
+		assertEquals(mirror.findMergedAnnotation(Stereotype.class).value(), "composed");
+		assertEquals(mirror.findMergedAnnotation(Tag.class).value(), "a");
+		assertNotNull(mirror.findMergedAnnotation(Marker.class));
+		assertNull(mirror.findMergedAnnotation(Annotation.class));
+		assertEquals(Mirror.of(Test.class).findMergedAnnotation(Annotation.class).value(), "test");
+		assertEquals(Mirror.of(Test9.class).findMergedAnnotation(Stereotype.class).value(), "near");
+	}
 
 	@Annotation("test")
 	public static class Test {
@@ -171,9 +371,113 @@ public class MirrorClassTest {
 
 	}
 
+	public static class Test4 extends Test {
+		public String f1;
+	}
+
+	public static class Test5 {
+		public Object self() {
+			return this;
+		}
+	}
+
+	public static class Test6 extends Test5 {
+		@Override
+		public Test6 self() {
+			return this;
+		}
+	}
+
 	@Retention(RetentionPolicy.RUNTIME)
 	public @interface Annotation {
 		String value();
 	}
 
+	public static class Test8 implements Comparable<Test8> {
+		@Override
+		public int compareTo(Test8 o) {
+			return 0;
+		}
+	}
+
+	@Composed
+	@Tag("a")
+	@Tag("b")
+	public static class Test7 {
+
+	}
+
+	@Deep
+	@Near
+	public static class Test9 {
+
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Marker {
+	}
+
+	@Marker
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Stereotype {
+		String value();
+	}
+
+	@Stereotype("composed")
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Composed {
+	}
+
+	@Repeatable(Tags.class)
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Tag {
+		String value();
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Tags {
+		Tag[] value();
+	}
+
+	@Composed
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Deep {
+	}
+
+	@Stereotype("near")
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Near {
+	}
+
+	public interface Test10I1 {
+		void m();
+	}
+
+	public interface Test10I2 extends Test10I1 {
+		@Override
+		default void m() {
+		}
+	}
+
+	public static class Test10 implements Test10I1, Test10I2 {
+
+	}
+
+	public static class Test11Base<T> {
+		public void m(T t) {
+		}
+	}
+
+	public static class Test11 extends Test11Base<String> {
+		@Override
+		public void m(String s) {
+		}
+
+		public void m(CharSequence s) {
+		}
+
+		public void m(Integer i) {
+		}
+	}
+
 }
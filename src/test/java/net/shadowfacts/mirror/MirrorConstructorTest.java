@@ -3,6 +3,9 @@ package net.shadowfacts.mirror;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
@@ -28,11 +31,109 @@ public class MirrorConstructorTest {
 		assertEquals(instance.s, "Test");
 	}
 
+	@org.junit.Test
+	public void testInvokePrimitive() throws ReflectiveOperationException {
+		MirrorConstructor<Test> mirror = Mirror.of(Test.class.getConstructor(String.class, int.class));
+		Test instance = mirror.invoke("Test", 2);
+		assertEquals(instance.s, "Test");
+		assertEquals(instance.i, 2);
+	}
+
+	@org.junit.Test
+	public void testInvokeNull() throws ReflectiveOperationException {
+		MirrorConstructor<Test> mirror = Mirror.of(Test.class.getConstructor(String.class));
+		Test instance = mirror.invoke((Object)null);
+		assertNull(instance.s);
+	}
+
+	@org.junit.Test(expected = IllegalArgumentException.class)
+	public void testInvokeNullPrimitive() throws ReflectiveOperationException {
+		Mirror.of(Test.class.getConstructor(String.class, int.class)).invoke("Test", null);
+	}
+
+	@org.junit.Test(expected = IllegalArgumentException.class)
+	public void testInvokeWrongType() throws ReflectiveOperationException {
+		Mirror.of(Test.class.getConstructor(String.class, int.class)).invoke("Test", 2L);
+	}
+
+	@org.junit.Test
+	public void testInvokeWidensArguments() throws ReflectiveOperationException {
+		MirrorConstructor<Test> mirror = Mirror.of(Test.class.getConstructor(String.class, long.class));
+		assertEquals(mirror.invoke("Test", 2).l, 2L);
+		assertEquals(mirror.invoke("Test", 'b').l, 98L);
+	}
+
+	@org.junit.Test
+	public void testHiddenClassInvokerWidensArguments() throws Throwable {
+		ConstructorInvoker invoker = Mirror.of(Test.class.getConstructor(String.class, long.class)).invoker(InvokerBackend.HIDDEN_CLASS);
+		assertTrue(invoker.getClass().isHidden());
+		assertEquals(((Test)invoker.newInstance(new Object[]{"Test", 2})).l, 2L);
+	}
+
+	@org.junit.Test
+	public void testHiddenClassInvoker() throws Throwable {
+		ConstructorInvoker invoker = Mirror.of(Test.class.getConstructor(String.class, int.class)).invoker(InvokerBackend.HIDDEN_CLASS);
+		assertTrue(invoker.getClass().isHidden());
+		Test instance = (Test)invoker.newInstance(new Object[]{"Test", 4});
+		assertEquals(instance.s, "Test");
+		assertEquals(instance.i, 4);
+	}
+
+	@org.junit.Test
+	public void testAsSupplier() throws ReflectiveOperationException {
+		Supplier<Test> supplier = Mirror.of(Test.class.getConstructor()).asSupplier();
+		assertEquals(supplier.get().s, "default");
+	}
+
+	@org.junit.Test
+	public void testAsFunction() throws ReflectiveOperationException {
+		Function<String, Test> function = Mirror.of(Test.class.getConstructor(String.class)).asFunction();
+		assertEquals(function.apply("Test").s, "Test");
+	}
+
+	@org.junit.Test
+	public void testAsBiFunction() throws ReflectiveOperationException {
+		BiFunction<String, Integer, Test> function = Mirror.of(Test.class.getConstructor(String.class, int.class)).asBiFunction();
+		Test instance = function.apply("Test", 2);
+		assertEquals(instance.s, "Test");
+		assertEquals(instance.i, 2);
+	}
+
+	@org.junit.Test
+	public void testAsFactory() throws ReflectiveOperationException {
+		MirrorConstructor<Test> mirror = Mirror.of(Test.class.getConstructor(String.class, int.class));
+		Factory factory = mirror.asFactory(Factory.class);
+		assertSame(factory, mirror.asFactory(Factory.class));
+		assertEquals(factory.create("Test", 3).i, 3);
+	}
+
+	@org.junit.Test(expected = IllegalArgumentException.class)
+	public void testAsFactoryWrongArity() throws ReflectiveOperationException {
+		Mirror.of(Test.class.getConstructor(String.class)).asSupplier();
+	}
+
+	public interface Factory {
+		Test create(String s, int i);
+	}
+
 	public static class Test {
 		private String s;
+		private int i;
+		private long l;
+		public Test() {
+			this("default");
+		}
 		public Test(String s) {
 			this.s = s;
 		}
+		public Test(String s, int i) {
+			this.s = s;
+			this.i = i;
+		}
+		public Test(String s, long l) {
+			this.s = s;
+			this.l = l;
+		}
 	}
 
 }
@@ -2,6 +2,8 @@ package net.shadowfacts.mirror;
 
 import org.junit.Test;
 
+import java.util.EnumSet;
+
 import static org.junit.Assert.*;
 
 /**
@@ -29,6 +31,68 @@ public class MirrorEnumTest {
 		assertEquals(mirror.previous(Test.VALUE2), Test.VALUE1);
 	}
 
+	@org.junit.Test
+	public void testValuesIsCopy() {
+		MirrorEnum<Test> mirror = Mirror.ofEnum(Test.class);
+		mirror.values()[0] = null;
+		assertEquals(mirror.values()[0], Test.VALUE1);
+		assertEquals(mirror.size(), 2);
+	}
+
+	@org.junit.Test
+	public void testValueOf() {
+		MirrorEnum<Test> mirror = Mirror.ofEnum(Test.class);
+		assertEquals(mirror.valueOf("VALUE2").get(), Test.VALUE2);
+		assertFalse(mirror.valueOf("VALUE3").isPresent());
+	}
+
+	@org.junit.Test
+	public void testByOrdinal() {
+		MirrorEnum<Test> mirror = Mirror.ofEnum(Test.class);
+		assertEquals(mirror.byOrdinal(0), Test.VALUE1);
+		assertEquals(mirror.byOrdinal(1), Test.VALUE2);
+	}
+
+	@org.junit.Test(expected = IllegalArgumentException.class)
+	public void testByInvalidOrdinal() {
+		Mirror.ofEnum(Test.class).byOrdinal(2);
+	}
+
+	@org.junit.Test
+	public void testBits() {
+		MirrorEnum<Test> mirror = Mirror.ofEnum(Test.class);
+		assertEquals(mirror.toBits(EnumSet.noneOf(Test.class)), 0);
+		assertEquals(mirror.toBits(EnumSet.of(Test.VALUE2)), 2);
+		assertEquals(mirror.toBits(EnumSet.allOf(Test.class)), 3);
+		assertEquals(mirror.fromBits(2), EnumSet.of(Test.VALUE2));
+		assertEquals(mirror.fromBits(mirror.toBitArray(EnumSet.allOf(Test.class))), EnumSet.allOf(Test.class));
+	}
+
+	@org.junit.Test(expected = IllegalArgumentException.class)
+	public void testInvalidBits() {
+		Mirror.ofEnum(Test.class).fromBits(4);
+	}
+
+	@org.junit.Test
+	public void testOrdinalMap() {
+		OrdinalMap<Test, String> map = Mirror.ofEnum(Test.class).newOrdinalMap();
+		assertTrue(map.isEmpty());
+		assertNull(map.put(Test.VALUE2, "two"));
+		assertEquals(map.put(Test.VALUE2, "2"), "two");
+		assertEquals(map.get(Test.VALUE2), "2");
+		assertNull(map.get(Test.VALUE1));
+		assertEquals(map.getOrDefault(Test.VALUE1, "1"), "1");
+		assertEquals(map.size(), 1);
+		assertEquals(map.remove(Test.VALUE2), "2");
+		assertTrue(map.isEmpty());
+	}
+
+	@org.junit.Test
+	public void testInterned() {
+		assertSame(Mirror.ofEnum(Test.class), Mirror.ofEnum(Test.class));
+		assertSame(Mirror.of(Test.class), Mirror.ofEnum(Test.class));
+	}
+
 	public enum Test {
 		VALUE1,
 		VALUE2;
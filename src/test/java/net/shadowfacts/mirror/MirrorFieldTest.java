@@ -6,6 +6,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Modifier;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.Assert.*;
 
@@ -50,6 +51,226 @@ public class MirrorFieldTest {
 		assertEquals(optional.get().get(null), "test 2");
 	}
 
+	@Test
+	public void testPromotion() throws ReflectiveOperationException {
+		int threshold = Mirror.getPromotionThreshold();
+		Mirror.setRecordingPromotions(true);
+		Mirror.setPromotionThreshold(1);
+		try {
+			MirrorField field = Mirror.of(Test5.class.getField("i"));
+			Test5 instance = new Test5();
+			field.set(instance, 1);
+			assertFalse(field.isPromoted());
+			assertEquals(field.get(instance), 1);
+			assertTrue(field.isPromoted());
+			assertTrue(Mirror.promotedMembers().contains(field.unwrap().toString()));
+		} finally {
+			Mirror.setPromotionThreshold(threshold);
+			Mirror.setRecordingPromotions(false);
+		}
+	}
+
+	@Test
+	public void testSameExceptionsAfterPromotion() throws ReflectiveOperationException {
+		int threshold = Mirror.getPromotionThreshold();
+		Mirror.setPromotionThreshold(1);
+		try {
+			MirrorField field = Mirror.of(Test5.class.getField("i"));
+			for (int i = 0; i < 3; i++) {
+				try {
+					field.set(new Test5(), "test");
+					fail();
+				} catch (IllegalArgumentException e) {
+				}
+				try {
+					field.get("test");
+					fail();
+				} catch (IllegalArgumentException e) {
+				}
+				try {
+					field.get(null);
+					fail();
+				} catch (NullPointerException e) {
+				}
+				field.get(new Test5());
+			}
+			assertTrue(field.isPromoted());
+		} finally {
+			Mirror.setPromotionThreshold(threshold);
+		}
+	}
+
+	@Test
+	public void testGetterDoesNotPromote() {
+		MirrorField field = Mirror.of(Test5.class).field("i").get();
+		field.getter();
+		field.setter();
+		assertFalse(field.isPromoted());
+	}
+
+	@Test
+	public void testSetAccessibleResetsAccesses() throws ReflectiveOperationException {
+		MirrorField field = Mirror.of(Test5.class.getField("i"));
+		field.get(new Test5());
+		assertEquals(field.accessCount(), 1);
+		field.setAccessible(true);
+		assertEquals(field.accessCount(), 0);
+	}
+
+	@Test
+	public void testHiddenClassAccessor() {
+		MirrorField field = Mirror.of(Test5.class).field("l").get();
+		FieldAccessor accessor = field.accessor(InvokerBackend.HIDDEN_CLASS);
+		assertTrue(accessor.getClass().isHidden());
+		Test5 instance = new Test5();
+		accessor.set(instance, 5L);
+		assertEquals(instance.l, 5);
+		assertEquals(accessor.get(instance), 5L);
+
+		FieldAccessor staticAccessor = Mirror.of(Test6.class).field("counter").get().accessor(InvokerBackend.HIDDEN_CLASS);
+		staticAccessor.set(null, 7L);
+		assertEquals(staticAccessor.get(null), 7L);
+	}
+
+	@Test
+	public void testHiddenClassAccessorWidensValues() {
+		FieldAccessor accessor = Mirror.of(Test5.class).field("d").get().accessor(InvokerBackend.HIDDEN_CLASS);
+		Test5 instance = new Test5();
+		accessor.set(instance, 3);
+		assertEquals(instance.d, 3.0, 0);
+		accessor.set(instance, 'a');
+		assertEquals(instance.d, 97.0, 0);
+	}
+
+	@Test
+	public void testHiddenClassAccessorFinal() {
+		FieldAccessor accessor = Mirror.of(Test1.class).field("f").get().accessor(InvokerBackend.HIDDEN_CLASS);
+		assertFalse(accessor.getClass().isHidden());
+		assertEquals(accessor.get(null), "test");
+	}
+
+	@Test
+	public void testGetter() {
+		Optional<MirrorField> optional = Mirror.of(Test3.class).declaredField("f2");
+		assertTrue(optional.isPresent());
+		MirrorField field = optional.get().setAccessible(true);
+		Function<Object, Object> getter = field.getter();
+		assertSame(getter, field.getter());
+		assertEquals(getter.apply(new Test3()), "test 2");
+	}
+
+	@Test
+	public void testSetter() {
+		Optional<MirrorField> optional = Mirror.of(Test3.class).declaredField("f2");
+		assertTrue(optional.isPresent());
+		MirrorField field = optional.get().setAccessible(true);
+		Test3 instance = new Test3();
+		field.setter().accept(instance, "test 3");
+		assertEquals(field.getter().apply(instance), "test 3");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetWrongType() {
+		Optional<MirrorField> optional = Mirror.of(Test4.class).field("f");
+		assertTrue(optional.isPresent());
+		optional.get().set(null, 1);
+	}
+
+	@Test
+	public void testPrimitives() {
+		MirrorClass<Test5> mirror = Mirror.of(Test5.class);
+		Test5 instance = new Test5();
+		mirror.field("i").get().setInt(instance, 2);
+		assertEquals(mirror.field("i").get().getInt(instance), 2);
+		assertEquals(mirror.field("i").get().getLong(instance), 2);
+		mirror.field("l").get().setLong(instance, 3);
+		assertEquals(mirror.field("l").get().getLong(instance), 3);
+		mirror.field("d").get().setDouble(instance, 4.5);
+		assertEquals(mirror.field("d").get().getDouble(instance), 4.5, 0);
+		mirror.field("b").get().setBoolean(instance, true);
+		assertTrue(mirror.field("b").get().getBoolean(instance));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPrimitiveWrongType() {
+		Optional<MirrorField> optional = Mirror.of(Test5.class).field("l");
+		assertTrue(optional.isPresent());
+		optional.get().getInt(new Test5());
+	}
+
+	@Test
+	public void testPrimitiveBoxedField() {
+		MirrorClass<Test7> mirror = Mirror.of(Test7.class);
+		try {
+			mirror.field("i").get().getInt(new Test7());
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			mirror.field("o").get().setInt(new Test7(), 1);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	@Test
+	public void testPrimitiveWrongInstance() {
+		MirrorField field = Mirror.of(Test5.class).field("i").get();
+		try {
+			field.getInt(new Test7());
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			field.setInt(new Test7(), 1);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			field.getInt(null);
+			fail();
+		} catch (NullPointerException e) {
+		}
+	}
+
+	@Test
+	public void testVolatile() {
+		MirrorClass<Test5> mirror = Mirror.of(Test5.class);
+		Test5 instance = new Test5();
+		mirror.field("i").get().setVolatile(instance, 3);
+		assertEquals(mirror.field("i").get().getIntVolatile(instance), 3);
+		mirror.field("l").get().setRelease(instance, 4L);
+		assertEquals(mirror.field("l").get().getLongAcquire(instance), 4);
+	}
+
+	@Test
+	public void testCompareAndSet() {
+		Optional<MirrorField> optional = Mirror.of(Test5.class).field("i");
+		assertTrue(optional.isPresent());
+		Test5 instance = new Test5();
+		assertTrue(optional.get().compareAndSet(instance, 0, 1));
+		assertFalse(optional.get().compareAndSet(instance, 0, 2));
+		assertEquals(instance.i, 1);
+	}
+
+	@Test
+	public void testGetAndAdd() {
+		Optional<MirrorField> optional = Mirror.of(Test6.class).field("counter");
+		assertTrue(optional.isPresent());
+		long previous = optional.get().getAndAdd(null, 5L);
+		assertEquals(optional.get().getLongVolatile(null), previous + 5);
+	}
+
+	@Test
+	public void testVolatilePrivate() {
+		Optional<MirrorField> optional = Mirror.of(Test3.class).declaredField("f2");
+		assertTrue(optional.isPresent());
+		MirrorField field = optional.get().setAccessible(true);
+		Test3 instance = new Test3();
+		assertEquals(field.getAndSet(instance, "test 3"), "test 2");
+		assertEquals(field.getVolatile(instance), "test 3");
+	}
+
 	@Test
 	public void testIsStatic() {
 		Optional<MirrorField> optional = Mirror.of(Test1.class).field("f");
@@ -137,6 +358,22 @@ public class MirrorFieldTest {
 		public static String f = "test";
 	}
 
+	public static class Test5 {
+		public int i;
+		public long l;
+		public double d;
+		public boolean b;
+	}
+
+	public static class Test6 {
+		public static long counter;
+	}
+
+	public static class Test7 {
+		public Integer i = 1;
+		public Object o;
+	}
+
 	@Retention(RetentionPolicy.RUNTIME)
 	public @interface Annotation {
 		String value();
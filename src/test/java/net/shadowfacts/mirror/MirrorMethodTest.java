@@ -4,8 +4,11 @@ import org.junit.Test;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.util.Optional;
+import java.util.function.IntBinaryOperator;
+import java.util.function.Supplier;
 
 import static org.junit.Assert.*;
 
@@ -35,12 +38,231 @@ public class MirrorMethodTest {
 		assertEquals(optional.get().invoke(null), "test");
 	}
 
+	@Test
+	public void testInvokeInstance() {
+		Optional<MirrorMethod> optional = Mirror.of(Test4.class).method("add", int.class, int.class);
+		assertTrue(optional.isPresent());
+		assertEquals(optional.get().invoke(new Test4(), 1, 2), 3);
+	}
+
+	@Test
+	public void testInvokeWrapsException() {
+		Optional<MirrorMethod> optional = Mirror.of(Test4.class).method("fail");
+		assertTrue(optional.isPresent());
+		try {
+			optional.get().invoke(new Test4());
+			fail();
+		} catch (RuntimeException e) {
+			assertTrue(e.getCause() instanceof InvocationTargetException);
+			assertTrue(e.getCause().getCause() instanceof UnsupportedOperationException);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvokeWrongArgumentCount() {
+		Optional<MirrorMethod> optional = Mirror.of(Test4.class).method("add", int.class, int.class);
+		assertTrue(optional.isPresent());
+		optional.get().invoke(new Test4(), 1);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testInvokeNullReceiver() {
+		Mirror.of(Test4.class).method("add", int.class, int.class).get().invoke(null, 1, 2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvokeWrongReceiver() {
+		Mirror.of(Test4.class).method("add", int.class, int.class).get().invoke("test", 1, 2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvokeWrongArgumentType() {
+		Mirror.of(Test4.class).method("add", int.class, int.class).get().invoke(new Test4(), 1, "2");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvokeNullPrimitiveArgument() {
+		Mirror.of(Test4.class).method("add", int.class, int.class).get().invoke(new Test4(), 1, null);
+	}
+
+	@Test
+	public void testInvokeWidensArguments() {
+		MirrorMethod method = Mirror.of(Test5.class).declaredMethod("concat", String.class, long.class).get().setAccessible(true);
+		assertEquals(method.invoke(new Test5(), "a", 2), "a2");
+		assertEquals(method.invoke(new Test5(), "a", 'b'), "a98");
+	}
+
+	@Test
+	public void testAsInterface() {
+		Optional<MirrorMethod> optional = Mirror.of(Test4.class).method("add", int.class, int.class);
+		assertTrue(optional.isPresent());
+		Adder adder = optional.get().asInterface(Adder.class);
+		assertSame(adder, optional.get().asInterface(Adder.class));
+		assertEquals(adder.add(new Test4(), 1, 2), 3);
+	}
+
+	@Test
+	public void testAsInterfaceStatic() {
+		Optional<MirrorMethod> optional = Mirror.of(Test1.class).method("m");
+		assertTrue(optional.isPresent());
+		Supplier<?> supplier = optional.get().asInterface(Supplier.class);
+		assertEquals(supplier.get(), "test");
+	}
+
+	@Test
+	public void testBindTo() {
+		Optional<MirrorMethod> optional = Mirror.of(Test4.class).method("add", int.class, int.class);
+		assertTrue(optional.isPresent());
+		IntBinaryOperator operator = optional.get().bindTo(new Test4(), IntBinaryOperator.class);
+		assertEquals(operator.applyAsInt(2, 3), 5);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBindToStatic() {
+		Optional<MirrorMethod> optional = Mirror.of(Test1.class).method("m");
+		assertTrue(optional.isPresent());
+		optional.get().bindTo(new Object(), Supplier.class);
+	}
+
+	@Test
+	public void testPromotion() throws ReflectiveOperationException {
+		int threshold = Mirror.getPromotionThreshold();
+		Mirror.setRecordingPromotions(true);
+		Mirror.setPromotionThreshold(2);
+		try {
+			MirrorMethod method = Mirror.of(Test4.class.getMethod("add", int.class, int.class));
+			Test4 instance = new Test4();
+			assertEquals(method.invoke(instance, 1, 2), 3);
+			assertEquals(method.invoke(instance, 1, 2), 3);
+			assertFalse(method.isPromoted());
+			assertEquals(method.invocationCount(), 2);
+			assertEquals(method.invoke(instance, 1, 2), 3);
+			assertTrue(method.isPromoted());
+			assertTrue(Mirror.promotedMembers().contains(method.unwrap().toString()));
+		} finally {
+			Mirror.setPromotionThreshold(threshold);
+			Mirror.setRecordingPromotions(false);
+		}
+	}
+
+	@Test
+	public void testPromotionNotRecordedByDefault() throws ReflectiveOperationException {
+		int threshold = Mirror.getPromotionThreshold();
+		Mirror.setPromotionThreshold(0);
+		try {
+			MirrorMethod method = Mirror.of(Test4.class.getMethod("add", int.class, int.class));
+			assertEquals(method.invoke(new Test4(), 1, 2), 3);
+			assertTrue(method.isPromoted());
+			assertFalse(Mirror.isRecordingPromotions());
+			assertFalse(Mirror.promotedMembers().contains(method.unwrap().toString()));
+		} finally {
+			Mirror.setPromotionThreshold(threshold);
+		}
+	}
+
+	@Test
+	public void testSameExceptionsAfterPromotion() throws ReflectiveOperationException {
+		int threshold = Mirror.getPromotionThreshold();
+		Mirror.setPromotionThreshold(1);
+		try {
+			MirrorMethod method = Mirror.of(Test4.class.getMethod("add", int.class, int.class));
+			for (int i = 0; i < 3; i++) {
+				try {
+					method.invoke(new Test4(), 1, "2");
+					fail();
+				} catch (IllegalArgumentException e) {
+				}
+				try {
+					method.invoke("test", 1, 2);
+					fail();
+				} catch (IllegalArgumentException e) {
+				}
+				assertEquals(method.invoke(new Test4(), 1, 2), 3);
+			}
+			assertTrue(method.isPromoted());
+		} finally {
+			Mirror.setPromotionThreshold(threshold);
+		}
+	}
+
+	@Test
+	public void testSetAccessibleResetsInvocations() throws ReflectiveOperationException {
+		MirrorMethod method = Mirror.of(Test4.class.getMethod("add", int.class, int.class));
+		method.invoke(new Test4(), 1, 2);
+		assertEquals(method.invocationCount(), 1);
+		method.setAccessible(true);
+		assertEquals(method.invocationCount(), 0);
+	}
+
+	@Test
+	public void testHiddenClassInvoker() throws Throwable {
+		MethodInvoker invoker = Mirror.of(Test4.class).method("add", int.class, int.class).get().invoker(InvokerBackend.HIDDEN_CLASS);
+		assertTrue(invoker.getClass().isHidden());
+		assertEquals(invoker.invoke(new Test4(), new Object[]{1, 2}), 3);
+
+		MethodInvoker staticInvoker = Mirror.of(Test1.class).method("m").get().invoker(InvokerBackend.HIDDEN_CLASS);
+		assertTrue(staticInvoker.getClass().isHidden());
+		assertEquals(staticInvoker.invoke(null, new Object[0]), "test");
+
+		MethodInvoker interfaceInvoker = Mirror.of(CharSequence.class).method("length").get().invoker(InvokerBackend.HIDDEN_CLASS);
+		assertEquals(interfaceInvoker.invoke("test", new Object[0]), 4);
+	}
+
+	@Test
+	public void testHiddenClassInvokerPrivate() throws Throwable {
+		MirrorMethod method = Mirror.of(Test5.class).declaredMethod("concat", String.class, long.class).get().setAccessible(true);
+		MethodInvoker invoker = method.invoker(InvokerBackend.HIDDEN_CLASS);
+		assertTrue(invoker.getClass().isHidden());
+		assertEquals(invoker.invoke(new Test5(), new Object[]{"a", 2L}), "a2");
+	}
+
+	@Test
+	public void testHiddenClassInvokerWidensArguments() throws Throwable {
+		MirrorMethod method = Mirror.of(Test5.class).declaredMethod("concat", String.class, long.class).get().setAccessible(true);
+		MethodInvoker invoker = method.invoker(InvokerBackend.HIDDEN_CLASS);
+		assertTrue(invoker.getClass().isHidden());
+		assertEquals(invoker.invoke(new Test5(), new Object[]{"a", 2}), "a2");
+		assertEquals(invoker.invoke(new Test5(), new Object[]{"a", 'b'}), "a98");
+		try {
+			invoker.invoke(new Test5(), new Object[]{"a", 2.0});
+			fail();
+		} catch (ClassCastException e) {
+		}
+	}
+
+	@Test
+	public void testHiddenClassBackendWidensArguments() {
+		InvokerBackend backend = Mirror.getInvokerBackend();
+		int threshold = Mirror.getPromotionThreshold();
+		Mirror.setInvokerBackend(InvokerBackend.HIDDEN_CLASS);
+		Mirror.setPromotionThreshold(0);
+		try {
+			MirrorMethod method = Mirror.of(Test5.class).declaredMethod("concat", String.class, long.class).get().setAccessible(true);
+			assertEquals(method.invoke(new Test5(), "a", 2), "a2");
+			assertTrue(method.isPromoted());
+		} finally {
+			Mirror.setInvokerBackend(backend);
+			Mirror.setPromotionThreshold(threshold);
+		}
+	}
+
+	@Test
+	public void testHiddenClassInvokerChecksAccess() {
+		try {
+			Mirror.of(Test3.class).declaredMethod("m").get().invoker(InvokerBackend.HIDDEN_CLASS);
+			fail();
+		} catch (RuntimeException e) {
+			assertTrue(e.getCause() instanceof IllegalAccessException);
+		}
+		MethodInvoker invoker = Mirror.of(Test3.class).declaredMethod("m").get().setAccessible(true).invoker(InvokerBackend.HIDDEN_CLASS);
+		assertTrue(invoker.getClass().isHidden());
+	}
+
 	@Test
 	public void testSetAccessible() {
 		Optional<MirrorMethod> optional = Mirror.of(Test2.class).declaredMethod("m");
 		assertTrue(optional.isPresent());
-		optional.get().setAccessible(true);
-		assertEquals(optional.get().invoke(null), "test");
+		assertEquals(optional.get().setAccessible(true).invoke(null), "test");
 	}
 
 	@Test
@@ -138,6 +360,20 @@ public class MirrorMethodTest {
 		private void m() {}
 	}
 
+	public static class Test4 {
+		public int add(int a, int b) { return a + b; }
+
+		public void fail() { throw new UnsupportedOperationException(); }
+	}
+
+	public static class Test5 {
+		private String concat(String s, long l) { return s + l; }
+	}
+
+	public interface Adder {
+		int add(Test4 instance, int a, int b);
+	}
+
 	@Retention(RetentionPolicy.RUNTIME)
 	public @interface Annotation {
 		String value();
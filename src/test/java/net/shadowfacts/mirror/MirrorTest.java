@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -49,6 +50,23 @@ public class MirrorTest {
 		assertEquals(mirrors.get(0), helloClass);
 	}
 
+	@org.junit.Test
+	public void testOfAllInPackageFiltered() {
+		List<Class<?>> mirrors = Mirror.ofAllInPackage("net.shadowfacts.mirror.test", metadata -> !metadata.isInner())
+				.unwrap()
+				.collect(Collectors.toList());
+		assertEquals(mirrors, Collections.singletonList(PackageTest.class));
+		assertEquals(Mirror.ofAllInPackage("net.shadowfacts.mirror.test", metadata -> false).count(), 0L);
+	}
+
+	@org.junit.Test
+	public void testOfAllInJarFiltered() throws IOException {
+		File file = new File("Hello.jar");
+		URLClassLoader classLoader = new URLClassLoader(new URL[]{file.toURI().toURL()}, getClass().getClassLoader());
+		assertEquals(Mirror.ofAllInJar(file, classLoader, metadata -> metadata.name().equals("Hello")).count(), 1L);
+		assertEquals(Mirror.ofAllInJar(file, classLoader, metadata -> metadata.isInterface()).count(), 0L);
+	}
+
 	@org.junit.Test
 	public void testOfEnum() {
 		MirrorEnum<Test2> mirror = Mirror.ofEnum(Test2.class);
@@ -0,0 +1,89 @@
+package net.shadowfacts.mirror.scanner.cls;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author shadowfacts
+ */
+public class ClassMetadataTest {
+
+	@org.junit.Test
+	public void testRead() throws IOException {
+		ClassMetadata metadata = read(Test1.class);
+		assertEquals(metadata.name(), Test1.class.getName());
+		assertEquals(metadata.packageName(), "net.shadowfacts.mirror.scanner.cls");
+		assertEquals(metadata.superName(), Test2.class.getName());
+		assertEquals(metadata.interfaces(), Arrays.asList(Runnable.class.getName(), Comparable.class.getName()));
+		assertEquals(metadata.annotations(), Collections.singleton(Annotation.class.getName()));
+		assertTrue(metadata.hasAnnotation(Annotation.class));
+		assertTrue(metadata.isPublic());
+		assertTrue(metadata.isInner());
+		assertFalse(metadata.isInterface());
+	}
+
+	@org.junit.Test
+	public void testReadFlags() throws IOException {
+		assertTrue(read(Test2.class).isAbstract());
+		assertEquals(read(Object.class).superName(), null);
+		assertTrue(read(Annotation.class).isAnnotation());
+		assertTrue(read(Annotation.class).isInterface());
+		assertTrue(read(Test3.class).isEnum());
+		assertTrue(read(Test2.class).annotations().isEmpty());
+	}
+
+	@org.junit.Test(expected = IllegalArgumentException.class)
+	public void testInvalid() {
+		ClassMetadata.read(new byte[]{1, 2, 3, 4});
+	}
+
+	private static ClassMetadata read(Class<?> clazz) throws IOException {
+		try (InputStream in = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class")) {
+			return ClassMetadata.read(in);
+		}
+	}
+
+	@Annotation(value = "test", values = {@Test4("a"), @Test4("b")}, type = Test3.VALUE)
+	public static class Test1 extends Test2 implements Runnable, Comparable<Test1> {
+		private static final long L = 1L;
+		private static final double D = 2.0;
+		private final String s = "\u00e9\u4e2d";
+
+		@Override
+		public void run() {
+		}
+
+		@Override
+		public int compareTo(Test1 o) {
+			return 0;
+		}
+	}
+
+	public static abstract class Test2 {
+	}
+
+	public enum Test3 {
+		VALUE
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Test4 {
+		String value();
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Annotation {
+		String value();
+		Test4[] values();
+		Test3 type();
+	}
+
+}
@@ -0,0 +1,121 @@
+package net.shadowfacts.mirror.scanner.cls;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author shadowfacts
+ */
+public class JarScannerTest {
+
+	@Test
+	public void testParallelMatchesSequential() throws URISyntaxException {
+		File junit = new File(Test.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		JarScanner.JarScannerOptions options = new JarScanner.JarScannerOptions(junit, Test.class.getClassLoader(), ClassMetadata::isAnnotation);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			Set<ClassRef> sequential = JarScanner.instance.scanRefs(options);
+			Set<ClassRef> parallel = JarScanner.instance.scanRefs(Collections.singletonList(options), pool);
+			assertFalse(sequential.isEmpty());
+			assertEquals(sequential, parallel);
+
+			Set<Class<?>> classes = JarScanner.instance.scan(Collections.singletonList(options), pool);
+			assertEquals(classes, JarScanner.instance.scan(options));
+			assertTrue(classes.contains(Test.class));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testMultipleJars() throws Exception {
+		File hello = new File("Hello.jar");
+		File junit = new File(Test.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		URLClassLoader classLoader = new URLClassLoader(new URL[]{hello.toURI().toURL()}, getClass().getClassLoader());
+		Set<Class<?>> classes = JarScanner.instance.scan(Arrays.asList(
+				new JarScanner.JarScannerOptions(hello, classLoader),
+				new JarScanner.JarScannerOptions(hello, classLoader),
+				new JarScanner.JarScannerOptions(junit, classLoader, metadata -> metadata.name().equals(Test.class.getName()))
+		));
+		assertEquals(classes.size(), 2);
+		assertTrue(classes.contains(Class.forName("Hello", false, classLoader)));
+		assertTrue(classes.contains(Test.class));
+	}
+
+	@Test
+	public void testModularJar() throws Exception {
+		File file = Files.createTempFile("mirror", ".jar").toFile();
+		byte[] helloClass;
+		try (JarFile jar = new JarFile("Hello.jar"); InputStream in = jar.getInputStream(jar.getEntry("Hello.class"))) {
+			helloClass = in.readAllBytes();
+		}
+		byte[] moduleInfo;
+		try (InputStream in = Object.class.getModule().getResourceAsStream("module-info.class")) {
+			moduleInfo = in.readAllBytes();
+		}
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+			out.putNextEntry(new JarEntry("module-info.class"));
+			out.write(moduleInfo);
+			out.putNextEntry(new JarEntry("Hello.class"));
+			out.write(helloClass);
+			out.putNextEntry(new JarEntry("a/package-info.class"));
+			out.write(helloClass);
+			out.putNextEntry(new JarEntry("META-INF/versions/9/Hello.class"));
+			out.write(helloClass);
+		}
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[]{file.toURI().toURL()}, getClass().getClassLoader())) {
+			JarScanner.JarScannerOptions options = new JarScanner.JarScannerOptions(file, classLoader);
+			assertEquals(JarScanner.instance.scan(options), Collections.singleton(Class.forName("Hello", false, classLoader)));
+			assertEquals(JarScanner.instance.scan(Collections.singletonList(options)).size(), 1);
+			assertEquals(JarScanner.instance.scanRefs(options).size(), 1);
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testNameFilter() throws Exception {
+		File file = Files.createTempFile("mirror", ".jar").toFile();
+		try (JarFile jar = new JarFile("Hello.jar"); InputStream in = jar.getInputStream(jar.getEntry("Hello.class")); JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+			out.putNextEntry(new JarEntry("Hello.class"));
+			out.write(in.readAllBytes());
+			out.putNextEntry(new JarEntry("bad/Bad.class"));
+			out.write(new byte[]{1, 2, 3});
+		}
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[]{file.toURI().toURL()}, getClass().getClassLoader())) {
+			JarScanner.JarScannerOptions options = new JarScanner.JarScannerOptions(file, classLoader, name -> !name.startsWith("bad."), null);
+			assertEquals(JarScanner.instance.scan(options), Collections.singleton(Class.forName("Hello", false, classLoader)));
+			assertEquals(JarScanner.instance.scan(Collections.singletonList(options)).size(), 1);
+			assertEquals(JarScanner.instance.scanRefs(options).size(), 1);
+
+			JarScanner.JarScannerOptions filtered = new JarScanner.JarScannerOptions(file, classLoader, name -> !name.startsWith("bad."), metadata -> false);
+			assertTrue(JarScanner.instance.scan(filtered).isEmpty());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testClasspath() {
+		assertFalse(JarScanner.classpath(getClass().getClassLoader(), null).isEmpty());
+	}
+
+}
@@ -0,0 +1,96 @@
+package net.shadowfacts.mirror.scanner.cls;
+
+import org.junit.Test;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author shadowfacts
+ */
+public class MappedJarTest {
+
+	@Test
+	public void testMatchesJarFile() throws Exception {
+		File file = new File(Test.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		MappedJar mapped = MappedJar.open(file);
+		try (JarFile jar = new JarFile(file)) {
+			List<JarEntry> entries = new ArrayList<>();
+			for (JarEntry entry : Collections.list(jar.entries())) {
+				if (entry.getName().endsWith(".class")) {
+					entries.add(entry);
+				}
+			}
+			assertEquals(mapped.size(), entries.size());
+			for (int i = 0; i < mapped.size(); i++) {
+				JarEntry entry = jar.getJarEntry(mapped.name(i));
+				try (InputStream in = jar.getInputStream(entry)) {
+					assertArrayEquals(mapped.read(i), in.readAllBytes());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testStoredAndZip64() throws IOException {
+		File file = Files.createTempFile("mirror", ".jar").toFile();
+		byte[] helloClass;
+		try (JarFile jar = new JarFile("Hello.jar"); InputStream in = jar.getInputStream(jar.getEntry("Hello.class"))) {
+			helloClass = in.readAllBytes();
+		}
+		try (ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			for (int i = 0; i < 70000; i++) {
+				out.putNextEntry(new ZipEntry("r/" + i));
+				out.closeEntry();
+			}
+			ZipEntry stored = new ZipEntry("Hello.class");
+			stored.setMethod(ZipEntry.STORED);
+			stored.setSize(helloClass.length);
+			CRC32 crc = new CRC32();
+			crc.update(helloClass);
+			stored.setCrc(crc.getValue());
+			out.putNextEntry(stored);
+			out.write(helloClass);
+			out.closeEntry();
+			out.putNextEntry(new ZipEntry("a/Hello.class"));
+			out.write(helloClass);
+			out.closeEntry();
+		}
+
+		MappedJar mapped = MappedJar.open(file);
+		assertEquals(mapped.size(), 2);
+		assertEquals(mapped.className(0), "Hello");
+		assertEquals(mapped.className(1), "a.Hello");
+		assertArrayEquals(mapped.read(0), helloClass);
+		assertArrayEquals(mapped.read(1), helloClass);
+		assertEquals(mapped.metadata(1).name(), "Hello");
+		file.delete();
+	}
+
+	@Test(expected = ZipException.class)
+	public void testInvalid() throws IOException {
+		File file = Files.createTempFile("mirror", ".jar").toFile();
+		Files.write(file.toPath(), new byte[100]);
+		try {
+			MappedJar.open(file);
+		} finally {
+			file.delete();
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+package net.shadowfacts.mirror.scanner.cls;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author shadowfacts
+ */
+public class ScanIndexTest {
+
+	@Test
+	public void testJar() throws IOException {
+		File dir = Files.createTempDirectory("mirror").toFile();
+		File jar = new File(dir, "Hello.jar");
+		Files.copy(new File("Hello.jar").toPath(), jar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		File indexDir = Files.createTempDirectory("mirror-index").toFile();
+		ScanIndex index = new ScanIndex(indexDir, false);
+		JarScanner.JarScannerOptions options = new JarScanner.JarScannerOptions(jar, getClass().getClassLoader());
+
+		assertEquals(new JarScanner(index).scanRefs(options), JarScanner.instance.scanRefs(options));
+		assertTrue(index.indexFile(jar).isFile());
+		assertEquals(index.indexFile(jar).getParentFile(), indexDir);
+		assertArrayEquals(dir.list(), new String[]{"Hello.jar"});
+
+		List<ClassMetadata> metadata = index.get(jar, () -> {
+			throw new AssertionError("Unchanged jar was rescanned");
+		});
+		assertEquals(metadata.size(), 1);
+		assertEquals(metadata.get(0).name(), "Hello");
+		assertEquals(metadata.get(0).superName(), "java.lang.Object");
+
+		assertTrue(jar.setLastModified(jar.lastModified() - 10000));
+		boolean[] rescanned = new boolean[1];
+		index.get(jar, () -> {
+			rescanned[0] = true;
+			return metadata;
+		});
+		assertTrue(rescanned[0]);
+	}
+
+	@Test
+	public void testDefaultDirectory() {
+		assertEquals(new ScanIndex().indexFile(new File("Hello.jar")).getParentFile(), ScanIndex.DEFAULT_DIRECTORY);
+		assertFalse(ScanIndex.DEFAULT_DIRECTORY.toPath().startsWith(System.getProperty("java.io.tmpdir")));
+	}
+
+	@Test
+	public void testPackage() throws IOException {
+		File dir = Files.createTempDirectory("mirror").toFile();
+		ScanIndex index = new ScanIndex(dir, true);
+		PackageScanner scanner = new PackageScanner(index);
+		String thePackage = "net.shadowfacts.mirror.scanner.cls";
+
+		assertEquals(scanner.scanRefs(thePackage), PackageScanner.instance.scanRefs(thePackage));
+		assertEquals(scanner.scanRefs(thePackage), PackageScanner.instance.scanRefs(thePackage));
+		assertEquals(scanner.scan(thePackage, ClassMetadata::isEnum), PackageScanner.instance.scan(thePackage, ClassMetadata::isEnum));
+		assertNotEquals(dir.list().length, 0);
+
+		ClassMetadata metadata = scanner.scanRefs(thePackage).stream()
+				.map(ClassRef::metadata)
+				.filter(m -> m.name().equals(ClassMetadataTest.Test1.class.getName()))
+				.findFirst()
+				.get();
+		assertEquals(metadata.superName(), ClassMetadataTest.Test2.class.getName());
+		assertEquals(metadata.interfaces(), Arrays.asList(Runnable.class.getName(), Comparable.class.getName()));
+		assertTrue(metadata.hasAnnotation(ClassMetadataTest.Annotation.class));
+		assertTrue(metadata.isPublic());
+	}
+
+	@Test
+	public void testCorruptIndex() throws IOException {
+		File dir = Files.createTempDirectory("mirror").toFile();
+		File jar = new File("Hello.jar");
+		ScanIndex index = new ScanIndex(dir, false);
+		Files.write(index.indexFile(jar).toPath(), new byte[]{1, 2, 3});
+		JarScanner.JarScannerOptions options = new JarScanner.JarScannerOptions(jar, getClass().getClassLoader());
+		assertEquals(new JarScanner(index).scanRefs(options), JarScanner.instance.scanRefs(options));
+	}
+
+	@Test
+	public void testCorruptCount() throws IOException {
+		File dir = Files.createTempDirectory("mirror").toFile();
+		File jar = new File("Hello.jar");
+		ScanIndex index = new ScanIndex(dir, false);
+		JarScanner.JarScannerOptions options = new JarScanner.JarScannerOptions(jar, getClass().getClassLoader());
+		new JarScanner(index).scanRefs(options);
+
+		File indexFile = index.indexFile(jar);
+		byte[] bytes = Files.readAllBytes(indexFile.toPath());
+		int stringCount = 4 + 1 + 2 + jar.getAbsolutePath().length() + 3 * 8;
+		ByteBuffer.wrap(bytes).putInt(stringCount, Integer.MAX_VALUE);
+		Files.write(indexFile.toPath(), bytes);
+
+		boolean[] rescanned = new boolean[1];
+		index.get(jar, () -> {
+			rescanned[0] = true;
+			return Collections.emptyList();
+		});
+		assertTrue(rescanned[0]);
+	}
+
+}
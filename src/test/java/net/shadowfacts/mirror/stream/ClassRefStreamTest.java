@@ -0,0 +1,85 @@
+package net.shadowfacts.mirror.stream;
+
+import net.shadowfacts.mirror.Mirror;
+import net.shadowfacts.mirror.scanner.cls.ClassRef;
+import net.shadowfacts.mirror.test.PackageTest;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author shadowfacts
+ */
+public class ClassRefStreamTest {
+
+	@Test
+	public void testLoad() throws IOException {
+		File file = new File("Hello.jar");
+		URLClassLoader classLoader = new URLClassLoader(new URL[]{file.toURI().toURL()}, getClass().getClassLoader());
+		List<ClassRef> refs = Mirror.ofAllRefsInJar(file, classLoader).collect(Collectors.toList());
+		assertEquals(refs.size(), 1);
+		assertFalse(refs.get(0).isLoaded());
+
+		assertEquals(new ClassRefStream(refs.stream()).isInterface().load().count(), 0L);
+		assertFalse(refs.get(0).isLoaded());
+
+		List<Class<?>> classes = new ClassRefStream(refs.stream())
+				.filterName(name -> name.equals("Hello"))
+				.load()
+				.unwrap()
+				.collect(Collectors.toList());
+		assertTrue(refs.get(0).isLoaded());
+		assertEquals(classes.size(), 1);
+		assertEquals(classes.get(0).getName(), "Hello");
+		assertSame(classes.get(0).getClassLoader(), classLoader);
+	}
+
+	@Test
+	public void testFilters() {
+		List<String> names = Mirror.ofAllRefsInPackage("net.shadowfacts.mirror.stream")
+				.isInner()
+				.inPackage("net.shadowfacts.mirror.stream")
+				.extendsClass(Base.class)
+				.implementsInterface(Runnable.class)
+				.hasAnnotation(Marker.class)
+				.map(ClassRef::name)
+				.collect(Collectors.toList());
+		assertEquals(names, Collections.singletonList(Test1.class.getName()));
+	}
+
+	@Test
+	public void testOfAllRefsInPackage() {
+		List<Class<?>> classes = Mirror.ofAllRefsInPackage("net.shadowfacts.mirror.test")
+				.isNotInner()
+				.isNotInterface()
+				.load()
+				.unwrap()
+				.collect(Collectors.toList());
+		assertEquals(classes, Collections.singletonList(PackageTest.class));
+	}
+
+	@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+	public @interface Marker {}
+
+	public static class Base {}
+
+	@Marker
+	public static class Test1 extends Base implements Runnable {
+		@Override
+		public void run() {}
+	}
+
+	public static class Test2 extends Base implements Runnable {
+		@Override
+		public void run() {}
+	}
+
+}
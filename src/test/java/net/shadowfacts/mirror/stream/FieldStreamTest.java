@@ -6,6 +6,7 @@ import org.junit.Test;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -36,6 +37,24 @@ public class FieldStreamTest {
 		assertEquals(array[1], "World");
 	}
 
+	@org.junit.Test
+	public void testGetAsInt() {
+		int sum = Mirror.of(Test5.class)
+				.declaredFields()
+				.getAsInt(new Test5())
+				.sum();
+		assertEquals(sum, 6);
+	}
+
+	@org.junit.Test
+	public void testGetAsLong() {
+		long sum = Mirror.of(Test5.class)
+				.declaredFields()
+				.getAsLong(new Test5())
+				.sum();
+		assertEquals(sum, 6);
+	}
+
 	@org.junit.Test
 	public void testSet() throws ReflectiveOperationException {
 		Mirror.of(Test4.class)
@@ -66,6 +85,31 @@ public class FieldStreamTest {
 		assertEquals(optional.get().value(), "test");
 	}
 
+	@org.junit.Test
+	public void testGetAnnotationExcludesUnannotated() {
+		List<Annotation> list = Mirror.of(Test.class)
+				.fields()
+				.getAnnotation(Annotation.class)
+				.collect(Collectors.toList());
+		assertEquals(list.size(), 1);
+		assertEquals(list.get(0).value(), "test");
+	}
+
+	@org.junit.Test
+	public void testFusedModifiers() {
+		List<String> names = Mirror.of(Test.class)
+				.fields()
+				.isStatic()
+				.isNotFinal()
+				.isPublic()
+				.map(f -> f.name())
+				.collect(Collectors.toList());
+		assertEquals(names, Collections.singletonList("s2"));
+		assertEquals(Mirror.of(Test.class).fields().isFinal().isNotFinal().count(), 0L);
+		assertEquals(Mirror.of(Test.class).fields().modifiers(Modifier.STATIC | Modifier.FINAL, 0).count(), 1L);
+		assertEquals(Mirror.of(Test.class).fields().hasModifier(Modifier.FINAL | Modifier.PRIVATE).count(), 1L);
+	}
+
 	@org.junit.Test
 	public void testIsStatic() {
 		Object[] array = Mirror.of(Test.class)
@@ -178,6 +222,12 @@ public class FieldStreamTest {
 		public static String s2 = "World";
 	}
 
+	public static class Test5 {
+		public int i = 1;
+		public short s = 2;
+		public int i2 = 3;
+	}
+
 	@Retention(RetentionPolicy.RUNTIME)
 	public @interface Annotation {
 		String value();
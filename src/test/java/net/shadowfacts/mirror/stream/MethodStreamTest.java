@@ -7,6 +7,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -56,16 +57,33 @@ public class MethodStreamTest {
 
 	@org.junit.Test
 	public void testGetAnnotation() {
-//		TODO: this test is broken and there's no reason why
-//		see: http://ci.rx14.co.uk/job/shadowfacts/job/Mirror/5/testReport/net.shadowfacts.mirror.stream/MethodStreamTest/testGetAnnotation/
+		Optional<Annotation> optional = Mirror.of(Test.class)
+				.methods()
+				.filterDeclaringClass(Test.class)
+				.getAnnotation(Annotation.class)
+				.findFirst();
+		assertTrue(optional.isPresent());
+		assertEquals(optional.get().value(), "test");
+	}
 
-//		Optional<Annotation> optional = Mirror.of(Test.class)
-//				.methods()
-//				.filterDeclaringClass(Test.class)
-//				.getAnnotation(Annotation.class)
-//				.findFirst();
-//		assertTrue(optional.isPresent());
-//		assertEquals(optional.get().value(), "test");
+	@org.junit.Test
+	public void testHasMetaAnnotation() {
+		List<String> names = Mirror.of(Test5.class)
+				.declaredMethods()
+				.hasMetaAnnotation(Annotation.class)
+				.map(m -> m.unwrap().getName())
+				.collect(Collectors.toList());
+		assertEquals(names, Collections.singletonList("m8"));
+	}
+
+	@org.junit.Test
+	public void testFindMergedAnnotation() {
+		List<Annotation> list = Mirror.of(Test5.class)
+				.declaredMethods()
+				.findMergedAnnotation(Annotation.class)
+				.collect(Collectors.toList());
+		assertEquals(list.size(), 1);
+		assertEquals(list.get(0).value(), "stereotype");
 	}
 
 	@org.junit.Test
@@ -204,4 +222,15 @@ public class MethodStreamTest {
 		String value();
 	}
 
+	@Annotation("stereotype")
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Stereotype {
+	}
+
+	public static class Test5 {
+		@Stereotype
+		public void m8() {}
+		public void m9() {}
+	}
+
 }